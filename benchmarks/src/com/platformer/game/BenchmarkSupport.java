@@ -0,0 +1,82 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.platformer.game.headless.HeadlessGL;
+
+/**
+ * Sets up enough of libGDX for the benchmarks to create textures, sprites and Box2D worlds without a window.
+ * The benchmarks are in the com.platformer.game package so they can reach the package-private parts of the game.
+ * @author Vincent Macri
+ */
+final class BenchmarkSupport {
+
+	/** The folder that the assets folder is in. This is set by the benchmarks build script. */
+	static final String ASSETS_DIR = System.getProperty("humdingers.assets", "../desktop/");
+
+	/** The level that the benchmarks use. */
+	static final String LEVEL_FILE = asset("assets/Environment/Level1/Level1.pgli");
+
+	/** If {@link #init()} has been run. */
+	private static boolean initialized;
+
+	private BenchmarkSupport() {
+	}
+
+	/** Start a headless application, load the player and knight sprites, and pack the game atlas. This only does anything the first time it is called. */
+	static synchronized void init() {
+		if (initialized) {
+			return;
+		}
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 1; // Nothing is rendered, so don't let the application's loop compete with the benchmarks.
+		new HeadlessApplication(new ApplicationAdapter() {}, config);
+		HeadlessGL.install();
+
+		TextureAtlas playerAtlas = new TextureAtlas(Gdx.files.internal(asset("assets/PlayerSprites/Player.atlas")));
+		TextureAtlas knightAtlas = new TextureAtlas(Gdx.files.internal(asset("assets/Enemies/Knight/Knight.atlas")));
+		TextureAtlas cloudAtlas = new TextureAtlas(Gdx.files.internal(asset("assets/Environment/Clouds/Clouds.atlas")));
+		TextureAtlas uiAtlas = new TextureAtlas(Gdx.files.internal(asset("assets/UI/UI.atlas")));
+		Platformer.createPGSI(playerAtlas, knightAtlas);
+		Platformer.createGameAtlas(cloudAtlas, uiAtlas, new Texture(Gdx.files.internal(asset("assets/UI/Bars/HealthBar.png"))),
+				new Texture(Gdx.files.internal(asset("assets/UI/Bars/ManaBar.png"))));
+
+		GameScreen.deltaTime = 1 / 60f;
+		initialized = true;
+	}
+
+	/**
+	 * Get the path to an asset.
+	 * @param path The path of the asset, as the game would load it.
+	 * @return The path of the asset from the benchmark's working directory.
+	 */
+	static String asset(String path) {
+		return ASSETS_DIR + path;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Benchmarks a physics step of the first level with extra knights, with the game's CollisionListener, with the old if-chain listener, and with no listener.
+ * Box2D only creates Contacts itself, so the cost of a listener's type dispatch is the difference between it and no listener.
+ * @author Vincent Macri
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+
+	/** How many knights to add on top of the level's knights. */
+	@Param({"100", "1000", "5000"})
+	public int extraKnights;
+
+	/** The contact listener attached to the world. "table" is the CollisionListener, "legacy" is the LegacyCollisionListener. */
+	@Param({"table", "legacy", "none"})
+	public String listener;
+
+	private GameSimulation simulation;
+
+	/** The table listener, if it is attached. Its events are handled after every step like in the game. */
+	private CollisionListener collisionListener;
+
+	@Setup
+	public void setup() {
+		BenchmarkSupport.init();
+		simulation = new GameSimulation();
+		simulation.loadLevel(BenchmarkSupport.LEVEL_FILE);
+		simulation.spawnPlayer(new Vector2(120, 500));
+		simulation.setView(0, StaticVars.currentLevel.getWidth()); // The knights are all over the level, so all of it needs to be loaded.
+
+		for (int i = 0; i < extraKnights; i++) { // Spread the knights over the level, so that many of them are touching walls.
+			StaticVars.enemyList.add(new Knight(new Vector2((StaticVars.LEVEL_WIDTH - 200f) * (i + 1) / (extraKnights + 1) + 100, 1024)));
+		}
+
+		if (listener.equals("table")) {
+			collisionListener = new CollisionListener();
+			StaticVars.world.setContactListener(collisionListener);
+		} else if (listener.equals("legacy")) {
+			StaticVars.world.setContactListener(new LegacyCollisionListener());
+		} else if (listener.equals("none")) {
+			StaticVars.world.setContactListener(null);
+		}
+
+		for (int i = 0; i < 300; i++) { // Let everything fall onto the ground.
+			worldStep();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		simulation.dispose();
+	}
+
+	@Benchmark
+	public void worldStep() {
+		StaticVars.world.step(1 / 60f, 6, 2);
+		if (collisionListener != null) {
+			collisionListener.processEvents();
+		}
+	}
+
+}
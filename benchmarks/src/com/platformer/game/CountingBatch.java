@@ -0,0 +1,238 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * A Batch that doesn't draw anything. It counts draw calls and texture switches, and sums the positions it is given so the JIT can't remove the calls that lead to it.
+ * @author Vincent Macri
+ */
+class CountingBatch implements Batch {
+
+	/** How many sprites have been drawn. */
+	int draws;
+
+	/** How many times the texture changed between sprites. A real SpriteBatch flushes each time this happens. */
+	int textureSwitches;
+
+	/** The sum of every position drawn at. */
+	float positionSum;
+
+	private Texture lastTexture;
+	private final Color color = new Color(1, 1, 1, 1);
+	private final Matrix4 projection = new Matrix4(), transform = new Matrix4();
+	private boolean drawing;
+
+	/** Reset the counters. */
+	void reset() {
+		draws = 0;
+		textureSwitches = 0;
+		positionSum = 0;
+		lastTexture = null;
+	}
+
+	/**
+	 * Record that a sprite was drawn.
+	 * @param texture The texture of the sprite.
+	 * @param x The x position of the sprite.
+	 * @param y The y position of the sprite.
+	 */
+	private void record(Texture texture, float x, float y) {
+		if (texture != lastTexture) {
+			textureSwitches++;
+			lastTexture = texture;
+		}
+		draws++;
+		positionSum += x + y;
+	}
+
+	@Override
+	public void begin() {
+		drawing = true;
+	}
+
+	@Override
+	public void end() {
+		drawing = false;
+	}
+
+	@Override
+	public void setColor(Color tint) {
+		color.set(tint);
+	}
+
+	@Override
+	public void setColor(float r, float g, float b, float a) {
+		color.set(r, g, b, a);
+	}
+
+	@Override
+	public void setColor(float color) {
+		Color.abgr8888ToColor(this.color, color);
+	}
+
+	@Override
+	public Color getColor() {
+		return color;
+	}
+
+	@Override
+	public float getPackedColor() {
+		return color.toFloatBits();
+	}
+
+	@Override
+	public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+		record(texture, x, y);
+	}
+
+	@Override
+	public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+		record(texture, x, y);
+	}
+
+	@Override
+	public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+		record(texture, x, y);
+	}
+
+	@Override
+	public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		record(texture, x, y);
+	}
+
+	@Override
+	public void draw(Texture texture, float x, float y) {
+		record(texture, x, y);
+	}
+
+	@Override
+	public void draw(Texture texture, float x, float y, float width, float height) {
+		record(texture, x, y);
+	}
+
+	@Override
+	public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+		record(texture, spriteVertices[offset], spriteVertices[offset + 1]);
+	}
+
+	@Override
+	public void draw(TextureRegion region, float x, float y) {
+		record(region.getTexture(), x, y);
+	}
+
+	@Override
+	public void draw(TextureRegion region, float x, float y, float width, float height) {
+		record(region.getTexture(), x, y);
+	}
+
+	@Override
+	public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {
+		record(region.getTexture(), x, y);
+	}
+
+	@Override
+	public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+		record(region.getTexture(), x, y);
+	}
+
+	@Override
+	public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+		record(region.getTexture(), transform.m02, transform.m12);
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void disableBlending() {
+	}
+
+	@Override
+	public void enableBlending() {
+	}
+
+	@Override
+	public void setBlendFunction(int srcFunc, int dstFunc) {
+	}
+
+	@Override
+	public int getBlendSrcFunc() {
+		return 0;
+	}
+
+	@Override
+	public int getBlendDstFunc() {
+		return 0;
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix() {
+		return projection;
+	}
+
+	@Override
+	public Matrix4 getTransformMatrix() {
+		return transform;
+	}
+
+	@Override
+	public void setProjectionMatrix(Matrix4 projection) {
+		this.projection.set(projection);
+	}
+
+	@Override
+	public void setTransformMatrix(Matrix4 transform) {
+		this.transform.set(transform);
+	}
+
+	@Override
+	public void setShader(ShaderProgram shader) {
+	}
+
+	@Override
+	public ShaderProgram getShader() {
+		return null;
+	}
+
+	@Override
+	public boolean isBlendingEnabled() {
+		return true;
+	}
+
+	@Override
+	public boolean isDrawing() {
+		return drawing;
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Benchmarks submitting knights spread over the whole level to a Batch through a RenderQueue, with and without a FrustumCuller.
+ * The camera is 2000 pixels wide, like the widest view in the game.
+ * @author Vincent Macri
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CullingBenchmark {
+
+	/** How many knights are spread over the level. */
+	@Param({"100", "1000"})
+	public int knights;
+
+	private GameSimulation simulation;
+	private final CountingBatch batch = new CountingBatch();
+	private final RenderQueue queue = new RenderQueue();
+	private final FrustumCuller culler = new FrustumCuller();
+	private final Rectangle bounds = new Rectangle();
+
+	@Setup
+	public void setup() {
+		BenchmarkSupport.init();
+		simulation = new GameSimulation();
+		for (int i = 0; i < knights; i++) {
+			StaticVars.enemyList.add(new Knight(new Vector2((StaticVars.LEVEL_WIDTH - 200f) * (i + 1) / (knights + 1) + 100, 300)));
+		}
+
+		OrthographicCamera camera = new OrthographicCamera(2000, 1024);
+		camera.position.set(StaticVars.LEVEL_WIDTH / 2, 512, 0);
+		camera.update();
+		culler.setView(camera);
+	}
+
+	@TearDown
+	public void tearDown() {
+		simulation.dispose();
+	}
+
+	/** Submit every knight. */
+	@Benchmark
+	public int drawAll() {
+		batch.draws = 0;
+		for (int i = 0; i < StaticVars.enemyList.size; i++) {
+			Knight knight = (Knight)StaticVars.enemyList.get(i);
+			knight.getCurrentFrame().draw(queue, knight);
+		}
+		queue.flush(batch);
+		return batch.draws;
+	}
+
+	/** Only submit the knights that the camera can see. */
+	@Benchmark
+	public int drawCulled() {
+		batch.draws = 0;
+		for (int i = 0; i < StaticVars.enemyList.size; i++) {
+			Knight knight = (Knight)StaticVars.enemyList.get(i);
+			knight.getDrawBounds(bounds);
+			if (culler.isVisible(bounds.x, bounds.y, bounds.width, bounds.height)) {
+				knight.getCurrentFrame().draw(queue, knight);
+			}
+		}
+		queue.flush(batch);
+		return batch.draws;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Benchmarks for picking the sprite to draw for the player and for a knight.
+ * @author Vincent Macri
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameBenchmark {
+
+	/** What the player is doing. */
+	@Param({"stand", "walk", "attack", "fire"})
+	public String playerAction;
+
+	/** What the knight is doing, as a complete action. 0 - standing left, 3 - walking right, 7 - attacking right. */
+	@Param({"0", "3", "7"})
+	public int knightAction;
+
+	private GameSimulation simulation;
+	private Player player;
+	private Knight knight;
+
+	@Setup
+	public void setup() {
+		BenchmarkSupport.init();
+		simulation = new GameSimulation();
+		player = new Player(new Vector2(120, 500));
+		knight = new Knight(new Vector2(500, 500));
+
+		if (playerAction.equals("stand")) {
+			player.stopMoving();
+		} else if (playerAction.equals("walk")) {
+			player.moveRight();
+		} else if (playerAction.equals("attack")) {
+			player.startAttackRight();
+		} else {
+			player.startFireRight();
+		}
+
+		StaticVars.enemyList.add(knight);
+		knight.setAction(knightAction & ~1, knightAction & 1);
+	}
+
+	@TearDown
+	public void tearDown() {
+		simulation.dispose();
+	}
+
+	@Benchmark
+	public PGSI playerGetFrame() {
+		player.getFrame();
+		return player.currentPGSI;
+	}
+
+	@Benchmark
+	public PGSI knightGetFrame() {
+		StaticVars.enemyList.updateAnimations(1 / 60f); // The knight is the only enemy.
+		return knight.getCurrentFrame();
+	}
+
+}
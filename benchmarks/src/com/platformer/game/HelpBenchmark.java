@@ -0,0 +1,64 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Benchmarks for the helper methods that run for every entity every frame.
+ * @author Vincent Macri
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HelpBenchmark {
+
+	/** The points to measure between. */
+	private Vector2 point1 = new Vector2(12.5f, 3.25f), point2 = new Vector2(18.75f, 9.5f);
+
+	/** How long the animation has been running. Not final, so the JIT can't fold it. */
+	private float timePassed = 1.37f;
+
+	@Benchmark
+	public float calcDistance() {
+		return Help.calcDistance(point1, point2);
+	}
+
+	@Benchmark
+	public float calcXDistance() {
+		return Help.calcXDistance(point1, point2);
+	}
+
+	@Benchmark
+	public int calcFrameNumber() {
+		return Help.calcFrameNumber(timePassed, 7, 0.1f);
+	}
+
+}
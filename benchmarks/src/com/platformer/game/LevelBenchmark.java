@@ -0,0 +1,67 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks loading the first level, including creating all of its Box2D fixtures and knights.
+ * @author Vincent Macri
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelBenchmark {
+
+	private GameSimulation simulation;
+
+	@Setup(org.openjdk.jmh.annotations.Level.Trial)
+	public void setupTrial() {
+		BenchmarkSupport.init();
+	}
+
+	@Setup(org.openjdk.jmh.annotations.Level.Invocation)
+	public void setup() {
+		simulation = new GameSimulation(); // Each level needs an empty world.
+	}
+
+	@TearDown(org.openjdk.jmh.annotations.Level.Invocation)
+	public void tearDown() {
+		simulation.dispose();
+	}
+
+	@Benchmark
+	public Level readLevel() {
+		Level level = new Level(BenchmarkSupport.LEVEL_FILE);
+		level.setLoadedRange(0, level.getWidth());
+		return level;
+	}
+
+}
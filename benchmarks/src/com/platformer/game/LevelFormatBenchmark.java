@@ -0,0 +1,178 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * Benchmarks reading a generated level in the text and compiled formats. Only the file is read, no Box2D bodies are created.
+ * The read benchmarks only decode the file. The load benchmarks go through {@link LevelData#load(FileHandle)}, like the game does, so they include finding the compiled level and checking its header.
+ * The Scanner benchmark reads the text the way Level used to, for comparison.
+ * @author Vincent Macri
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LevelFormatBenchmark {
+
+	/** How many ground steps the generated level has. */
+	@Param({"1000", "100000", "300000"})
+	public int segments;
+
+	private FileHandle textFile, compiledFile;
+	/** A copy of the text level with no compiled level next to it, so loading it has to parse the text. */
+	private FileHandle textOnlyFile;
+
+	@Setup
+	public void setup() throws IOException {
+		LevelData level = generateLevel(segments);
+
+		File folder = File.createTempFile("humdingers-level", "");
+		folder.delete();
+		folder.mkdirs();
+		textFile = new FileHandle(new File(folder, "Generated" + LevelData.TEXT_EXTENSION));
+		compiledFile = new FileHandle(new File(folder, "Generated" + LevelData.COMPILED_EXTENSION));
+
+		textFile.writeString(toText(level), false);
+		textOnlyFile = new FileHandle(new File(folder, "TextOnly" + LevelData.TEXT_EXTENSION));
+		textFile.copyTo(textOnlyFile);
+		OutputStream output = compiledFile.write(false);
+		try {
+			level.writeBinary(output, textFile.readBytes());
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		textFile.parent().deleteDirectory();
+	}
+
+	/**
+	 * Generate a level with a random ground profile, with a platform every 50 steps and a knight every 20.
+	 * @param steps How many ground steps to generate.
+	 * @return The level.
+	 */
+	private static LevelData generateLevel(int steps) {
+		Random random = new Random(1);
+		int[] ground = new int[steps * 3];
+		int[] platforms = new int[steps / 50 * 3];
+		int[] knights = new int[steps / 20];
+
+		int x = 0;
+		for (int i = 0; i < steps; i++) {
+			int width = 20 + random.nextInt(300);
+			ground[i * 3] = x;
+			ground[i * 3 + 1] = x + width;
+			ground[i * 3 + 2] = 50 + random.nextInt(800);
+			if (i % 50 == 0 && i / 50 < platforms.length / 3) {
+				platforms[i / 50 * 3] = x;
+				platforms[i / 50 * 3 + 1] = x + 124;
+				platforms[i / 50 * 3 + 2] = 900;
+			}
+			if (i % 20 == 0 && i / 20 < knights.length) {
+				knights[i / 20] = x;
+			}
+			x += width;
+		}
+		return new LevelData(ground, platforms, knights);
+	}
+
+	/**
+	 * Write a level in the .pgli format.
+	 * @param level The level.
+	 * @return The text of the level.
+	 */
+	private static String toText(LevelData level) {
+		StringBuilder text = new StringBuilder();
+		text.append("[SOG]\n");
+		for (int i = 0; i < level.ground.length; i += 3) {
+			text.append(level.ground[i]).append(' ').append(level.ground[i + 1]).append(' ').append(level.ground[i + 2]).append('\n');
+		}
+		text.append("[EOG]\n[SOP]\n");
+		for (int i = 0; i < level.platforms.length; i += 3) {
+			text.append(level.platforms[i]).append(' ').append(level.platforms[i + 1]).append(' ').append(level.platforms[i + 2]).append('\n');
+		}
+		text.append("[EOP]\n[SOK]\n");
+		for (int i = 0; i < level.knights.length; i++) {
+			text.append(level.knights[i]).append('\n');
+		}
+		text.append("[EOK]\n");
+		return text.toString();
+	}
+
+	@Benchmark
+	public LevelData readText() {
+		return LevelData.readText(textFile);
+	}
+
+	@Benchmark
+	public LevelData readCompiled() {
+		return LevelData.readBinary(LevelData.mapFile(compiledFile));
+	}
+
+	@Benchmark
+	public LevelData loadText() {
+		return LevelData.load(textOnlyFile);
+	}
+
+	@Benchmark
+	public LevelData loadCompiled() {
+		return LevelData.load(textFile);
+	}
+
+	/** Read the text the way Level did before, with a Scanner. */
+	@Benchmark
+	public int readTextScanner() {
+		Scanner s = new Scanner(textFile.read());
+		IntArray values = new IntArray();
+		for (int section = 0; section < 3; section++) {
+			s.next(); // The section's start marker.
+			while (s.hasNextInt()) {
+				values.add(s.nextInt());
+			}
+			s.next(); // The section's end marker.
+		}
+		s.close();
+		return values.size;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Benchmarks drawing a PGSI through a RenderQueue into a Batch that doesn't draw anything, so only the game's own work is measured.
+ * @author Vincent Macri
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PGSIBenchmark {
+
+	private GameSimulation simulation;
+	private Knight knight;
+	private final CountingBatch batch = new CountingBatch();
+	private final RenderQueue queue = new RenderQueue();
+
+	@Setup
+	public void setup() {
+		BenchmarkSupport.init();
+		simulation = new GameSimulation();
+		knight = new Knight(new Vector2(500, 500));
+	}
+
+	@TearDown
+	public void tearDown() {
+		simulation.dispose();
+	}
+
+	/** Draw a PGSI that has a left, centre and right. */
+	@Benchmark
+	public float drawThreePart() {
+		Platformer.knightAttackRight[0].draw(queue, knight);
+		queue.flush(batch);
+		return batch.positionSum;
+	}
+
+	/** Draw a PGSI that also has a top. */
+	@Benchmark
+	public float drawWithTop() {
+		Platformer.knightAttackRight[1].draw(queue, knight);
+		queue.flush(batch);
+		return batch.positionSum;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * What the enemy AI can see, and the commands it gives. Each thread that runs AI has its own.
+ * Box2D isn't thread safe, so the AI doesn't touch any bodies. It reads the positions that were saved before it started, and the changes it wants are recorded here and applied by {@link #apply} on the main thread.
+ * @author Vincent Macri
+ */
+class AICommands {
+
+	/** Where the player was when the AI started, in meters. */
+	float playerX, playerY;
+
+	/** The random number generator for the AI on this thread. */
+	final RandomXS128 random = new RandomXS128();
+
+	/** The indices in the {@link EnemyStore} of the enemies whose x velocity is being set. */
+	private int[] enemies = new int[16];
+	/** The new x velocity of each of those enemies. */
+	private float[] xVelocities = new float[16];
+	/** The number of velocity commands. */
+	private int size;
+
+	/** How much damage the enemies did to the player. */
+	private float playerDamage;
+
+	/**
+	 * Set the x velocity of an enemy without changing its y velocity.
+	 * @param enemyIndex Where the enemy is in the {@link EnemyStore}.
+	 * @param xVelocity The new x velocity.
+	 */
+	void setXVelocity(int enemyIndex, float xVelocity) {
+		if (size == enemies.length) {
+			int[] newEnemies = new int[size * 2];
+			float[] newXVelocities = new float[size * 2];
+			System.arraycopy(enemies, 0, newEnemies, 0, size);
+			System.arraycopy(xVelocities, 0, newXVelocities, 0, size);
+			enemies = newEnemies;
+			xVelocities = newXVelocities;
+		}
+		enemies[size] = enemyIndex;
+		xVelocities[size] = xVelocity;
+		size++;
+	}
+
+	/**
+	 * Hurt the player.
+	 * @param damage How much health to take away.
+	 */
+	void damagePlayer(float damage) {
+		playerDamage += damage;
+	}
+
+	/**
+	 * Carry out the commands, then forget them. This must be run on the main thread.
+	 * @param store The enemies that gave the commands.
+	 * @param player The player.
+	 */
+	void apply(EnemyStore store, Player player) {
+		for (int i = 0; i < size; i++) {
+			Body body = store.enemies[enemies[i]].body;
+			Help.setBodyXVelocity(body, xVelocities[i]);
+		}
+		size = 0;
+
+		if (playerDamage > 0) {
+			player.takeDamage(playerDamage);
+			playerDamage = 0;
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+/**
+ * Decides which enemies think each step, based on how far they are from the player.
+ * <ul>
+ * <li>Enemies within {@link #NEAR_DISTANCE} think every step.</li>
+ * <li>Enemies within {@link #DORMANT_DISTANCE} think every {@link #FAR_INTERVAL} steps, as long as the step's AI hasn't used up {@link #BUDGET_NANOS}. Enemies that miss their turn go as soon as there is time.</li>
+ * <li>Enemies further away are dormant. They stop walking and don't think, so Box2D puts their bodies to sleep once they come to rest.</li>
+ * </ul>
+ * Bodies are left to fall asleep instead of being forced to, since a knight that was put to sleep in the air would stay there.
+ * @author Vincent Macri
+ */
+class AIScheduler {
+
+	/** Enemies closer than this to the player think every step, in meters. This is about the width of the screen. */
+	static final float NEAR_DISTANCE = 15f;
+	/** Enemies further than this from the player are dormant, in meters. */
+	static final float DORMANT_DISTANCE = 60f;
+	/** How many steps there are between the thoughts of an enemy that isn't near the player. */
+	static final int FAR_INTERVAL = 4;
+	/** How long the AI may take each step before enemies that aren't near the player have to wait, in nanoseconds. */
+	static final long BUDGET_NANOS = 2000000;
+
+	/** The number of the current step. */
+	private int step;
+	/** When the current step's budget runs out, from {@link System#nanoTime()}. */
+	private long deadline;
+
+	/** Start a new step. This must be called on the main thread before any AI runs. */
+	void beginStep() {
+		step++;
+		deadline = System.nanoTime() + BUDGET_NANOS;
+	}
+
+	/**
+	 * Check if an enemy that has seen the player and is thinking should run its AI this step. If it should, that is recorded.
+	 * Enemies that have just become dormant are told to stop.
+	 * This may be called from any AI thread, but only for the enemies that thread is running.
+	 * @param store The enemies.
+	 * @param index Where the enemy is in the store.
+	 * @param commands The commands of the thread that runs the enemy.
+	 * @return If the enemy's AI should run.
+	 */
+	boolean schedule(EnemyStore store, int index, AICommands commands) {
+		float distance = Math.abs(store.x[index] - commands.playerX);
+
+		if (distance > DORMANT_DISTANCE) {
+			if (!store.dormant[index]) {
+				store.dormant[index] = true;
+				commands.setXVelocity(index, 0);
+				store.baseAction[index] = 0; // Stand still.
+			}
+			return false;
+		}
+		store.dormant[index] = false;
+
+		if (distance > NEAR_DISTANCE && (step - store.lastThought[index] < FAR_INTERVAL || System.nanoTime() > deadline)) {
+			return false;
+		}
+		store.lastThought[index] = step;
+		return true;
+	}
+
+}
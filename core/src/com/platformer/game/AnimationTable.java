@@ -0,0 +1,133 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * The animations of a type of entity, with one animation for each of its actions.
+ * The animations are read from a JSON file, which is an array with an entry for each action:
+ * <pre>
+ * [
+ * 	{ "action": "standLeft", "frames": "playerStandLeft", "frameDuration": 0.15 },
+ * 	...
+ * ]
+ * </pre>
+ * "action" is one of {@link #ACTION_NAMES}, which are in the order of the action numbers, so the entries can be in any order.
+ * "frames" names a set of PGSI made by {@link Platformer#createPGSI}.
+ * One table is shared by every entity of a type, and finding a frame is an array lookup.
+ * @author Vincent Macri
+ */
+public class AnimationTable {
+
+	/** The name of each complete action, by its number. A complete action is a basic action plus a direction, which is 0 for left and 1 for right. */
+	static final String[] ACTION_NAMES = {"standLeft", "standRight", "walkLeft", "walkRight", "jumpLeft", "jumpRight", "attackLeft", "attackRight", "fireballLeft", "fireballRight"};
+
+	/** The frames of each action. */
+	private final PGSI[][] frames;
+	/** How long each frame of each action lasts, in seconds. */
+	private final float[] frameDurations;
+
+	/**
+	 * Read a table of animations.
+	 * @param file The JSON file.
+	 * @param sprites The sets of PGSI that the file can use, by name.
+	 * @param actionCount How many actions the entity has. The file must have exactly the first actionCount of {@link #ACTION_NAMES}.
+	 */
+	public AnimationTable(FileHandle file, ObjectMap<String, PGSI[]> sprites, int actionCount) {
+		JsonValue actions = new JsonReader().parse(file);
+		frames = new PGSI[actionCount][];
+		frameDurations = new float[actionCount];
+
+		for (JsonValue entry = actions.child; entry != null; entry = entry.next) {
+			String actionName = entry.getString("action");
+			int action = findAction(actionName, actionCount);
+			if (action == -1) {
+				throw new GdxRuntimeException(file.path() + " has an animation for " + actionName + ", which isn't one of the entity's actions.");
+			}
+			if (frames[action] != null) {
+				throw new GdxRuntimeException(file.path() + " has more than one animation for " + actionName + ".");
+			}
+
+			String name = entry.getString("frames");
+			frames[action] = sprites.get(name);
+			if (frames[action] == null) {
+				throw new GdxRuntimeException("Action " + actionName + " in " + file.path() + " uses " + name + ", which doesn't exist.");
+			}
+			frameDurations[action] = entry.getFloat("frameDuration");
+		}
+
+		for (int action = 0; action < actionCount; action++) {
+			if (frames[action] == null) {
+				throw new GdxRuntimeException(file.path() + " has no animation for " + ACTION_NAMES[action] + ".");
+			}
+		}
+	}
+
+	/**
+	 * Find the number of an action.
+	 * @param actionName The name of the action.
+	 * @param actionCount How many actions the entity has.
+	 * @return The number of the action, or -1 if it isn't one of the first actionCount actions.
+	 */
+	private static int findAction(String actionName, int actionCount) {
+		for (int i = 0; i < actionCount; i++) {
+			if (ACTION_NAMES[i].equals(actionName)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the frame to show for an action. Animations loop.
+	 * @param action The action.
+	 * @param time How long the action has been running, in seconds.
+	 * @return The frame.
+	 */
+	public PGSI getFrame(int action, float time) {
+		PGSI[] actionFrames = frames[action];
+		return actionFrames[Help.calcFrameNumber(time, actionFrames.length, frameDurations[action])];
+	}
+
+	/**
+	 * Get the number of frames in an action's animation.
+	 * @param action The action.
+	 * @return The number of frames.
+	 */
+	public int getFrameCount(int action) {
+		return frames[action].length;
+	}
+
+	/**
+	 * Get how long each frame of an action's animation lasts.
+	 * @param action The action.
+	 * @return The length of a frame, in seconds.
+	 */
+	public float getFrameDuration(int action) {
+		return frameDurations[action];
+	}
+
+}
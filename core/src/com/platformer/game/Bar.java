@@ -21,8 +21,8 @@
 package com.platformer.game;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 
@@ -36,13 +36,15 @@ public class Bar extends Image {
 	private float value;
 	/** The maximum this bar can be filled to. */
 	private final float MAX_VALUE;
-	/** The texture of the filled bar. */
-	private final Texture BAR_TEXTURE;
+	/** The region of the filled bar. */
+	private final TextureRegion BAR_TEXTURE;
+	/** The part of the filled bar that is drawn. This is reused every frame. */
+	private final TextureRegion filled = new TextureRegion();
 	
 	/**
 	 * @param texture
 	 */
-	public Bar(Texture texture, float maxValue) {
+	public Bar(TextureRegion texture, float maxValue) {
 		super(texture);
 		BAR_TEXTURE = texture;
 		this.value = maxValue;
@@ -66,7 +68,8 @@ public class Bar extends Image {
 		float x = getX();
 		float y = getY();
 
-		batch.draw(BAR_TEXTURE, x + getImageX(), y + getImageY(), 0, 0, (int) (BAR_TEXTURE.getWidth() * value / MAX_VALUE), BAR_TEXTURE.getHeight());
+		filled.setRegion(BAR_TEXTURE, 0, 0, (int) (BAR_TEXTURE.getRegionWidth() * value / MAX_VALUE), BAR_TEXTURE.getRegionHeight());
+		batch.draw(filled, x + getImageX(), y + getImageY());
 	}
 	
 }
@@ -20,7 +20,7 @@
 
 package com.platformer.game;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Stack;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
@@ -40,7 +40,7 @@ public class BarManager extends Stack {
 	 * @param backTexture
 	 * @param barTexture
 	 */
-	public BarManager(Drawable backTexture, Texture barTexture, float maxValue) {
+	public BarManager(Drawable backTexture, TextureRegion barTexture, float maxValue) {
 		this.background = new Image(backTexture);
 		bar = new Bar(barTexture, maxValue);
 		this.add(background);
@@ -20,8 +20,8 @@
 
 package com.platformer.game;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
 /**
@@ -52,10 +52,38 @@ public abstract class BaseBullet extends GameEntity {
 	}
 
 	@Override
-	public void draw(SpriteBatch batch) {
-		batch.draw(image,
-				body.getPosition().x * StaticVars.PIXELS_PER_METER - image.getRegionWidth() / 2,
-				body.getPosition().y * StaticVars.PIXELS_PER_METER - image.getRegionHeight() / 2);
+	public void draw(RenderQueue queue) {
+		queue.draw(image,
+				renderPosition.x * StaticVars.PIXELS_PER_METER - image.getRegionWidth() / 2,
+				renderPosition.y * StaticVars.PIXELS_PER_METER - image.getRegionHeight() / 2);
+	}
+
+	@Override
+	void getDrawBounds(Rectangle bounds) {
+		bounds.set(renderPosition.x * StaticVars.PIXELS_PER_METER - image.getRegionWidth() / 2, renderPosition.y * StaticVars.PIXELS_PER_METER - image.getRegionHeight() / 2,
+				image.getRegionWidth(), image.getRegionHeight());
+	}
+
+	/**
+	 * Put the bullet at a position and set it moving. This is used to reuse a bullet instead of creating a new one.
+	 * @param newPos The bottom left corner of the bullet, in pixels.
+	 * @param newVelocity The velocity of the bullet, in meters per second.
+	 */
+	void launch(Vector2 newPos, Vector2 newVelocity) {
+		body.setTransform((newPos.x + baseShape.getRegionWidth() / 2) / StaticVars.PIXELS_PER_METER, (newPos.y + baseShape.getRegionHeight() / 2) / StaticVars.PIXELS_PER_METER, 0);
+		body.setLinearVelocity(newVelocity);
+		body.setActive(true);
+		body.setAwake(true);
+		snapRenderPosition();
+
+		health = MAX_HEALTH;
+		timePassed = 0;
+		active = true;
+	}
+
+	/** Take the bullet out of the game once it is no longer active. By default the body is destroyed. */
+	void remove() {
+		StaticVars.world.destroyBody(body);
 	}
 
 	@Override
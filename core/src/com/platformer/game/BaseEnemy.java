@@ -21,6 +21,7 @@
 package com.platformer.game;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
 /**
@@ -30,31 +31,22 @@ import com.badlogic.gdx.math.Vector2;
  */
 public abstract class BaseEnemy extends GameEntity {
 
+	/** How far away an enemy can see the player from, in meters. */
+	public static final float SIGHT_RADIUS = 15f;
+
 	/** How stupid the enemy is. This is used in function that use randomness to determine the enemy's actions. */
 	int stupidity;
-	/** Whether or not the enemy is thinking. */
-	boolean thinking;
 	/** If the enemy is currently fighting the player. */
 	boolean attackAI;
-	/** Whether or not the player has been see yet. */
-	boolean seenPlayer;
-
-	/**
-	 * 0 - standing left. 1 - standing right. 2 - walking left. 3 - walking right.
-	 * 4 - jump left. 5 - jump right. 6 - attack left 7 - attack right.
-	 */
-	int currentAction, lastAction;
 
-	/**
-	 * Basic action performed. Direction is added to get complete action.
-	 * 0 - standing. 2 - walking. 4 - jumping. 6 - attacking.
-	 */
-	int baseAction;
+	/** The column of the {@link EnemyGrid} that this enemy is in, or -1 if it isn't in the grid. */
+	int gridCell = -1;
 
 	/**
-	 * 0 is left, 1 is right.
+	 * Where this enemy is in {@link StaticVars#enemyList}, or -1 if it isn't in it. This is kept up to date by the {@link EnemyStore}.
+	 * The enemy's health, action, animation and AI flags are stored there. They can only be used while the enemy is in the store.
 	 */
-	int direction;
+	int storeIndex = -1;
 
 	/**
 	 * 
@@ -67,85 +59,224 @@ public abstract class BaseEnemy extends GameEntity {
 	 */
 	public BaseEnemy(Vector2 loc, int newMaxHealth, float newSpeed, TextureRegion newBaseShape, BodyDataType newBDType) {
 		super(loc, newMaxHealth, newBaseShape, newBDType, 0.5f, StaticVars.ENEMY_MASK, StaticVars.BULLET_MASK);
-		seenPlayer = false;
 		speed = newSpeed * StaticVars.PIXELS_PER_METER;
-		thinking = true; //The enemy defaults to being able to think.
-		initFrames();
 	}
 
+	/**
+	 * The enemies' frames are all picked at once by {@link EnemyStore#updateAnimations(float)}.
+	 * Until the enemy is added to the store, it shows the frame its constructor set.
+	 */
 	@Override
-	public void update(){
-		if(!seenPlayer){
-			seenPlayer = checkSight();
-		}else{
-			if(thinking){
-				runAI();
-			}
-		}
-		getFrame();
+	void getFrame() {
 	}
 
-	/** Run the enemy AI. This method must be implemented by the subclasses. */
-	public abstract void runAI();
+	/**
+	 * Get the frame to draw.
+	 * @return The enemy's current PGSI.
+	 */
+	PGSI getCurrentFrame() {
+		return storeIndex == -1 ? currentPGSI : StaticVars.enemyList.frames[storeIndex];
+	}
+
+	@Override
+	void getDrawBounds(Rectangle bounds) {
+		getCurrentFrame().getBounds(this, bounds);
+	}
+
+	/**
+	 * Get the animations of this type of enemy.
+	 * @return The animations, by complete action.
+	 */
+	abstract AnimationTable getAnimations();
+
+	/**
+	 * Run the enemy AI. This method must be implemented by the subclasses.
+	 * The enemy starts thinking once it has seen the player. Sight is checked by the GameSimulation, which only looks at enemies near the player.
+	 * <p>
+	 * This may run on any thread, at the same time as other enemies' AI. It must not use any Box2D bodies: positions come from {@link #getX()}, {@link #getY()} and the commands, and changes to bodies are given to the commands.
+	 * Changing this enemy's own state in the {@link EnemyStore} is fine.
+	 * @param commands What the AI can see about the player, and where it gives its commands.
+	 */
+	public abstract void runAI(AICommands commands);
+
+	/**
+	 * Get the x position of the enemy from before the AI started running.
+	 * @return The x position, in meters.
+	 */
+	float getX() {
+		return StaticVars.enemyList.x[storeIndex];
+	}
+
+	/**
+	 * Get the y position of the enemy from before the AI started running.
+	 * @return The y position, in meters.
+	 */
+	float getY() {
+		return StaticVars.enemyList.y[storeIndex];
+	}
+
+	/**
+	 * Calculate the distance to the player from where they both were before the AI started running.
+	 * @param commands The AI's commands, which have the player's position.
+	 * @return The distance, in meters.
+	 */
+	float distanceToPlayer(AICommands commands) {
+		return (float) Math.hypot(getX() - commands.playerX, getY() - commands.playerY);
+	}
+
+	/**
+	 * Basic action performed. Direction is added to get complete action.
+	 * 0 - standing. 2 - walking. 4 - jumping. 6 - attacking.
+	 * @return The basic action.
+	 */
+	int getBaseAction() {
+		return StaticVars.enemyList.baseAction[storeIndex];
+	}
+
+	/**
+	 * The direction the enemy is facing.
+	 * @return 0 for left, 1 for right.
+	 */
+	int getDirection() {
+		return StaticVars.enemyList.direction[storeIndex];
+	}
 
-	/** Walk towards player. */
-	void goToPlayer() {
+	/**
+	 * Set what the enemy is doing, without changing which way it is facing.
+	 * @param baseAction The basic action. See {@link #getBaseAction()}.
+	 */
+	void setBaseAction(int baseAction) {
+		StaticVars.enemyList.baseAction[storeIndex] = baseAction;
+	}
+
+	/**
+	 * Set what the enemy is doing and which way it is facing.
+	 * @param baseAction The basic action. See {@link #getBaseAction()}.
+	 * @param direction 0 for left, 1 for right.
+	 */
+	void setAction(int baseAction, int direction) {
+		StaticVars.enemyList.baseAction[storeIndex] = baseAction;
+		StaticVars.enemyList.direction[storeIndex] = direction;
+	}
+
+	/**
+	 * Getter for how long the enemy has been doing its current action.
+	 * @return The time, in seconds.
+	 */
+	float getAnimationTime() {
+		return StaticVars.enemyList.animationTime[storeIndex];
+	}
+
+	/**
+	 * Check if the enemy has seen the player.
+	 * @return If the player has been seen yet.
+	 */
+	boolean hasSeenPlayer() {
+		return StaticVars.enemyList.seenPlayer[storeIndex];
+	}
+
+	/** Let the enemy know where the player is. */
+	void seePlayer() {
+		StaticVars.enemyList.seenPlayer[storeIndex] = true;
+	}
+
+	/**
+	 * Check if the enemy is thinking.
+	 * @return If the enemy's AI is running.
+	 */
+	boolean isThinking() {
+		return StaticVars.enemyList.thinking[storeIndex];
+	}
+
+	/**
+	 * Start or stop the enemy's AI.
+	 * @param thinking If the enemy should think.
+	 */
+	void setThinking(boolean thinking) {
+		StaticVars.enemyList.thinking[storeIndex] = thinking;
+	}
+
+	/**
+	 * Getter for health.
+	 * @return How much health the enemy has.
+	 */
+	float getHealth() {
+		return StaticVars.enemyList.health[storeIndex];
+	}
+
+	/**
+	 * Take away some of the enemy's health. The enemy dies once it runs out, in {@link EnemyStore#updateHealth()}.
+	 * @param damage How much health to take away.
+	 */
+	@Override
+	public void takeDamage(float damage) {
+		StaticVars.enemyList.health[storeIndex] -= damage;
+	}
+
+	@Override
+	public void healDamage(float heal) {
+		float[] health = StaticVars.enemyList.health;
+		health[storeIndex] = Math.min(health[storeIndex] + heal, MAX_HEALTH);
+	}
+
+	/**
+	 * Walk towards player.
+	 * @param commands The AI's commands.
+	 */
+	void goToPlayer(AICommands commands) {
 		
-		if (Help.calcXDistance(body.getPosition(), StaticVars.player.body.getPosition()) <= 0.1f){
-			Help.setBodyXVelocity(body, 0);
-			baseAction = 0;
+		if (Math.abs(getX() - commands.playerX) <= 0.1f){
+			commands.setXVelocity(storeIndex, 0);
+			setBaseAction(0);
 			return;
 		}
 		
-		if (setDirection() == 0){ //If player is to the left.
-			moveLeft(); //Move left.
+		if (setDirection(commands) == 0){ //If player is to the left.
+			moveLeft(commands); //Move left.
 		}else{ //If player is to the right.
-			moveRight();
+			moveRight(commands);
 		}
 	}
 
-	/** Walk away from player. */
-	void goAwayFromPlayer() {
-		if (setDirection() == 0){ //If player is to the left.
-			moveRight(); //Move right.
+	/**
+	 * Walk away from player.
+	 * @param commands The AI's commands.
+	 */
+	void goAwayFromPlayer(AICommands commands) {
+		if (setDirection(commands) == 0){ //If player is to the left.
+			moveRight(commands); //Move right.
 		}else{ //If player is to the right.
-			moveLeft(); //Move left.
+			moveLeft(commands); //Move left.
 		}
 	}
 
 	/**
 	 * Check what direction the enemy should travel.
+	 * @param commands The AI's commands, which have the player's position.
 	 * @return 0 if enemy should go left, else 1.
 	 */
-	int setDirection() {
-		if (body.getPosition().x > StaticVars.player.body.getPosition().x) { //If player is to the left.
+	int setDirection(AICommands commands) {
+		if (getX() > commands.playerX) { //If player is to the left.
 			return 0; //Enemy should go left.
 		}else{ 
 			return 1; //Enemy should go right.
 		}
 	}
 
-	/** Attack player. */
-	public abstract void attack();
-
 	/**
-	 * This method checks if the player is within the sight distance of this enemy. Currently the sight distance is 15 meters.
-	 * @return If the enemy can see the player.
+	 * Attack player.
+	 * @param commands The AI's commands.
 	 */
-	private boolean checkSight() {
-		return Help.calcDistance(body.getPosition(), StaticVars.player.body.getPosition()) <= 15f;		
-	}
+	public abstract void attack(AICommands commands);
 
-	void moveLeft(){
-		Help.setBodyXVelocity(body, -speed);
-		direction = 0;
-		baseAction = 2;
+	void moveLeft(AICommands commands){
+		commands.setXVelocity(storeIndex, -speed);
+		setAction(2, 0);
 	}
 
-	void moveRight(){
-		Help.setBodyXVelocity(body, speed);
-		direction = 1;
-		baseAction = 2;
+	void moveRight(AICommands commands){
+		commands.setXVelocity(storeIndex, speed);
+		setAction(2, 1);
 	}
 
 	/**
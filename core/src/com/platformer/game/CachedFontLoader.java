@@ -0,0 +1,410 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.GuillotineStrategy;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * Loads FreeType fonts like {@link FreetypeFontLoader}, but keeps the generated fonts in a cache folder.
+ * A generated font is saved as an AngelCode BMFont .fnt file and a PNG for each glyph page. Later loads of the same font read those files and skip FreeType completely.
+ * The cache key is a hash of the font file, the pixel size and the characters, so a different display or a changed font file generates a new font.
+ * Only the size and the characters are part of the key, since those are the only font parameters the game sets.
+ * Loading with a {@link DistanceFieldFontLoaderParameter} makes a {@link DistanceFieldFont} instead, which can be drawn at any size.
+ * @author Vincent Macri
+ */
+public class CachedFontLoader extends FreetypeFontLoader {
+
+	/** Change this when the cache files change, so old caches are ignored. */
+	private static final int CACHE_VERSION = 1;
+
+	/** The size of the glyph pages of a generated font, in pixels. */
+	private static final int PAGE_SIZE = 1024;
+
+	/** The folder the cached fonts are kept in. */
+	private final FileHandle cacheFolder;
+
+	/** The cache file of each font being loaded, by the font's asset file name. This is set in getDependencies, before the font is loaded. */
+	private final ObjectMap<String, FileHandle> cacheFiles = new ObjectMap<String, FileHandle>();
+
+	/** The font data read from the cache or generated as a distance field font, while the font is loading. */
+	private BitmapFontData loadedData;
+
+	/** The glyph pages of {@link #loadedData}, while the font is loading. */
+	private Array<Pixmap> loadedPages;
+
+	/**
+	 * The parameters for loading a signed distance field font.
+	 * The font's size is the size of the distance field font. The glyphs are rendered larger than that and sampled down, so the edges are accurate.
+	 */
+	public static class DistanceFieldFontLoaderParameter extends FreeTypeFontLoaderParameter {
+		/** How far from the edge of a glyph distances are stored, in pixels. Larger spreads allow larger scales, but take more space in the glyph pages. */
+		public int spread = 4;
+		/** How many times larger the glyphs are rendered before they are sampled down. */
+		public int downscale = 4;
+	}
+
+	/**
+	 * Create a new font loader.
+	 * @param resolver Finds the font files.
+	 * @param cacheFolder The folder to keep the generated fonts in. It is created if it doesn't exist.
+	 */
+	public CachedFontLoader(FileHandleResolver resolver, FileHandle cacheFolder) {
+		super(resolver);
+		this.cacheFolder = cacheFolder;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, FreeTypeFontLoaderParameter parameter) {
+		FileHandle cacheFile = getCacheFile(parameter);
+		cacheFiles.put(fileName, cacheFile);
+		if (cacheFile != null && cacheFile.exists()) { // The font is cached, so the FreeType generator isn't needed.
+			return null;
+		}
+		return super.getDependencies(fileName, file, parameter);
+	}
+
+	@Override
+	public void loadAsync(AssetManager manager, String fileName, FileHandle file, FreeTypeFontLoaderParameter parameter) {
+		FileHandle cacheFile = cacheFiles.get(fileName);
+		if (cacheFile == null || !cacheFile.exists()) {
+			if (parameter instanceof DistanceFieldFontLoaderParameter) { // Distance field fonts don't need textures until they are finished, so all of the work can be done here.
+				generateDistanceFieldFont(manager, fileName, cacheFile, (DistanceFieldFontLoaderParameter)parameter);
+			} else {
+				super.loadAsync(manager, fileName, file, parameter);
+			}
+			return;
+		}
+
+		// Decode the cached files here, so that only creating the textures is left for the render thread.
+		loadedData = new BitmapFontData(cacheFile, false);
+		readMetrics(cacheFile, loadedData);
+		loadedPages = new Array<Pixmap>(loadedData.imagePaths.length);
+		for (int i = 0; i < loadedData.imagePaths.length; i++) {
+			loadedPages.add(new Pixmap(cacheFile.sibling(getPageName(cacheFile, i))));
+		}
+	}
+
+	@Override
+	public BitmapFont loadSync(AssetManager manager, String fileName, FileHandle file, FreeTypeFontLoaderParameter parameter) {
+		FileHandle cacheFile = cacheFiles.remove(fileName);
+		if (loadedData != null) { // The font was read from the cache or generated in loadAsync.
+			BitmapFont font = createFont(loadedData, loadedPages, parameter);
+			for (int i = 0; i < loadedPages.size; i++) {
+				loadedPages.get(i).dispose();
+			}
+			loadedData = null;
+			loadedPages = null;
+			return font;
+		}
+
+		// Generate the font into a packer we own, so the glyph pages can be saved.
+		PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Format.RGBA8888, 1, false, new GuillotineStrategy());
+		parameter.fontParameters.packer = packer;
+		BitmapFont font = super.loadSync(manager, fileName, file, parameter);
+		parameter.fontParameters.packer = null;
+		font.setOwnsTexture(true); // The packer's textures now belong to the font.
+
+		if (cacheFile != null) {
+			try {
+				writeFont(cacheFile, font.getData(), packer);
+			} catch (Exception e) { // The cache is only an optimisation, so the game carries on without it.
+				System.out.println("Could not cache font " + fileName + ": " + e.getMessage());
+			}
+		}
+		return font;
+	}
+
+	/**
+	 * Render a font with FreeType and turn it into a distance field font, in {@link #loadedData} and {@link #loadedPages}.
+	 * @param manager The asset manager, which has the font's FreeType generator.
+	 * @param fileName The font's asset file name.
+	 * @param cacheFile The file to cache the font in, or null to not cache it.
+	 * @param parameter The font's parameters.
+	 */
+	private void generateDistanceFieldFont(AssetManager manager, String fileName, FileHandle cacheFile, DistanceFieldFontLoaderParameter parameter) {
+		FreeTypeFontGenerator generator = manager.get(parameter.fontFileName + ".gen", FreeTypeFontGenerator.class);
+		FreeTypeFontParameter fontParameters = parameter.fontParameters;
+
+		// Render the glyphs large into a packer we own. Only their pixmaps are needed, so no textures are made.
+		int size = fontParameters.size;
+		PixmapPacker source = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Format.RGBA8888, 1, false, new GuillotineStrategy());
+		fontParameters.packer = source;
+		fontParameters.size = size * parameter.downscale;
+		BitmapFontData data = generator.generateData(fontParameters);
+		fontParameters.packer = null;
+		fontParameters.size = size;
+
+		PixmapPacker packer = DistanceFieldGenerator.generate(data, source, parameter.spread, parameter.downscale, PAGE_SIZE);
+		source.dispose();
+
+		if (cacheFile != null) {
+			try {
+				writeFont(cacheFile, data, packer);
+			} catch (Exception e) { // The cache is only an optimisation, so the game carries on without it.
+				System.out.println("Could not cache font " + fileName + ": " + e.getMessage());
+			}
+		}
+
+		// The packer made no textures, so its pages are all it holds. They are disposed once the font's textures are made.
+		loadedData = data;
+		loadedPages = new Array<Pixmap>(packer.getPages().size);
+		for (int i = 0; i < packer.getPages().size; i++) {
+			loadedPages.add(packer.getPages().get(i).getPixmap());
+		}
+	}
+
+	/**
+	 * Create a font from its data and glyph pages. The font owns the textures made for the pages.
+	 * @param data The font's data.
+	 * @param pages The glyph pages. They can be disposed once the font is made.
+	 * @param parameter The font's parameters.
+	 * @return The font. It is a {@link DistanceFieldFont} if the parameters are for one.
+	 */
+	private static BitmapFont createFont(BitmapFontData data, Array<Pixmap> pages, FreeTypeFontLoaderParameter parameter) {
+		Array<TextureRegion> regions = new Array<TextureRegion>(pages.size);
+		for (int i = 0; i < pages.size; i++) {
+			Texture page = new Texture(pages.get(i), parameter.fontParameters.genMipMaps);
+			page.setFilter(parameter.fontParameters.minFilter, parameter.fontParameters.magFilter);
+			regions.add(new TextureRegion(page));
+		}
+
+		BitmapFont font;
+		if (parameter instanceof DistanceFieldFontLoaderParameter) {
+			DistanceFieldFont distanceFieldFont = new DistanceFieldFont(data, regions, false); // Distance field fonts are scaled, so their glyphs can't be put on whole pixels.
+			distanceFieldFont.setDistanceFieldSmoothing(((DistanceFieldFontLoaderParameter)parameter).spread);
+			font = distanceFieldFont;
+		} else {
+			font = new BitmapFont(data, regions, true);
+		}
+		font.setOwnsTexture(true);
+		return font;
+	}
+
+	/**
+	 * Get the cache file of a font.
+	 * @param parameter The font's parameters.
+	 * @return The .fnt file in the cache folder, or null if the font file couldn't be read.
+	 */
+	private FileHandle getCacheFile(FreeTypeFontLoaderParameter parameter) {
+		FileHandle fontFile = resolve(parameter.fontFileName);
+		FreeTypeFontParameter fontParameters = parameter.fontParameters;
+
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+
+		InputStream input = null;
+		try {
+			input = fontFile.read();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		} catch (Exception e) {
+			System.out.println("Could not read font " + parameter.fontFileName + ": " + e.getMessage());
+			return null;
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+
+		String key = "\n" + CACHE_VERSION + "\n" + fontParameters.size + "\n" + fontParameters.characters;
+		if (parameter instanceof DistanceFieldFontLoaderParameter) {
+			DistanceFieldFontLoaderParameter distanceField = (DistanceFieldFontLoaderParameter)parameter;
+			key += "\ndistance field " + distanceField.spread + " " + distanceField.downscale;
+		}
+		try {
+			digest.update(key.getBytes("UTF-8"));
+		} catch (IOException e) {
+			return null;
+		}
+
+		StringBuilder name = new StringBuilder(fontFile.nameWithoutExtension()).append('-').append(fontParameters.size).append('-');
+		if (parameter instanceof DistanceFieldFontLoaderParameter) {
+			name.append("sdf-");
+		}
+		byte[] hash = digest.digest();
+		for (int i = 0; i < hash.length; i++) {
+			name.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+		}
+		return cacheFolder.child(name.append(".fnt").toString());
+	}
+
+	/**
+	 * Get the file name of a glyph page.
+	 * @param fontFile The .fnt file.
+	 * @param page The page number.
+	 * @return The file name of the page's PNG, in the same folder as the .fnt file.
+	 */
+	private static String getPageName(FileHandle fontFile, int page) {
+		return fontFile.nameWithoutExtension() + "_" + page + ".png";
+	}
+
+	/**
+	 * Save a generated font to the cache. The pages are written first, so a .fnt file is only there if its pages are.
+	 * @param fontFile The .fnt file to write.
+	 * @param data The font's data.
+	 * @param packer The packer that holds the font's glyph pages.
+	 * @throws IOException If the files can't be written.
+	 */
+	private static void writeFont(FileHandle fontFile, BitmapFontData data, PixmapPacker packer) throws IOException {
+		Array<PixmapPacker.Page> pages = packer.getPages();
+		for (int i = 0; i < pages.size; i++) {
+			PixmapIO.writePNG(fontFile.sibling(getPageName(fontFile, i)), pages.get(i).getPixmap());
+		}
+
+		// Every glyph of the font, including the one used for missing characters.
+		Array<Glyph> glyphs = new Array<Glyph>();
+		if (data.missingGlyph != null) {
+			glyphs.add(data.missingGlyph);
+		}
+		for (int i = 0; i < data.glyphs.length; i++) {
+			if (data.glyphs[i] != null) {
+				for (int j = 0; j < data.glyphs[i].length; j++) {
+					if (data.glyphs[i][j] != null && data.glyphs[i][j].id != 0) { // BMFont uses id 0 for the missing glyph. Text never has a character 0, so its glyph isn't needed.
+						glyphs.add(data.glyphs[i][j]);
+					}
+				}
+			}
+		}
+
+		StringBuilder text = new StringBuilder();
+		text.append("info face=\"").append(fontFile.nameWithoutExtension()).append("\" size=0 bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=")
+			.append((int)data.padTop).append(',').append((int)data.padRight).append(',').append((int)data.padBottom).append(',').append((int)data.padLeft).append(" spacing=0,0\n");
+		text.append("common lineHeight=").append((int)data.lineHeight).append(" base=").append((int)(data.capHeight + data.ascent))
+			.append(" scaleW=").append(PAGE_SIZE).append(" scaleH=").append(PAGE_SIZE).append(" pages=").append(pages.size).append(" packed=0\n");
+		for (int i = 0; i < pages.size; i++) {
+			text.append("page id=").append(i).append(" file=\"").append(getPageName(fontFile, i)).append("\"\n");
+		}
+
+		// BMFont can't hold FreeType's exact metrics, so they are kept on a line that other BMFont readers skip. See readMetrics.
+		text.append("metrics lineHeight=").append(data.lineHeight).append(" capHeight=").append(data.capHeight).append(" xHeight=").append(data.xHeight)
+			.append(" ascent=").append(data.ascent).append(" descent=").append(data.descent).append(" down=").append(data.down).append(" spaceWidth=").append(data.spaceWidth).append('\n');
+
+		text.append("chars count=").append(glyphs.size).append('\n');
+		for (int i = 0; i < glyphs.size; i++) {
+			Glyph glyph = glyphs.get(i);
+			text.append("char id=").append(glyph == data.missingGlyph ? 0 : glyph.id).append(" x=").append(glyph.srcX).append(" y=").append(glyph.srcY)
+				.append(" width=").append(glyph.width).append(" height=").append(glyph.height).append(" xoffset=").append(glyph.xoffset)
+				.append(" yoffset=").append(-(glyph.height + glyph.yoffset)) // BitmapFontData stores the offset from the baseline, but BMFont stores it from the top of the line.
+				.append(" xadvance=").append(glyph.xadvance).append(" page=").append(glyph.page).append(" chnl=0\n");
+		}
+
+		StringBuilder kernings = new StringBuilder();
+		int kerningCount = 0;
+		for (int i = 0; i < glyphs.size; i++) {
+			Glyph first = glyphs.get(i);
+			if (first.kerning == null || first == data.missingGlyph) {
+				continue;
+			}
+			for (int j = 0; j < glyphs.size; j++) {
+				Glyph second = glyphs.get(j);
+				int amount = first.getKerning((char)second.id);
+				if (amount != 0 && second != data.missingGlyph) {
+					kernings.append("kerning first=").append(first.id).append(" second=").append(second.id).append(" amount=").append(amount).append('\n');
+					kerningCount++;
+				}
+			}
+		}
+		text.append("kernings count=").append(kerningCount).append('\n').append(kernings);
+
+		Writer writer = fontFile.writer(false, "UTF-8");
+		try {
+			writer.write(text.toString());
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+	}
+
+	/**
+	 * Set the metrics of font data read from the cache to the ones FreeType generated.
+	 * @param fontFile The .fnt file.
+	 * @param data The data read from the file.
+	 */
+	private static void readMetrics(FileHandle fontFile, BitmapFontData data) {
+		BufferedReader reader = fontFile.reader(1024, "UTF-8");
+		try {
+			String line;
+			while ((line = reader.readLine()) != null && !line.startsWith("chars ")) {
+				if (!line.startsWith("metrics ")) {
+					continue;
+				}
+
+				String[] values = line.split(" ");
+				for (int i = 1; i < values.length; i++) {
+					String name = values[i].substring(0, values[i].indexOf('='));
+					float value = Float.parseFloat(values[i].substring(values[i].indexOf('=') + 1));
+					if (name.equals("lineHeight")) {
+						data.lineHeight = value;
+					} else if (name.equals("capHeight")) {
+						data.capHeight = value;
+					} else if (name.equals("xHeight")) {
+						data.xHeight = value;
+					} else if (name.equals("ascent")) {
+						data.ascent = value;
+					} else if (name.equals("descent")) {
+						data.descent = value;
+					} else if (name.equals("down")) {
+						data.down = value;
+					} else if (name.equals("spaceWidth")) {
+						data.spaceWidth = value;
+					}
+				}
+			}
+		} catch (IOException e) { // The metrics BitmapFontData worked out from the glyphs are close enough.
+			System.out.println("Could not read font metrics from " + fontFile.path() + ": " + e.getMessage());
+		} finally {
+			StreamUtils.closeQuietly(reader);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * The body data of a body made of ChainShapes. Each edge of a chain can be a different type, such as a wall or the ground.
+ * The fixture of each chain stores an array of BodyData as its user data, with one entry for each edge.
+ * @author Vincent Macri
+ */
+public class ChainBodyData extends BodyData {
+
+	/**
+	 * Create the body data for a body made of chains.
+	 * @param newBDType The type used for anything on the body that isn't a chain.
+	 */
+	public ChainBodyData(BodyDataType newBDType) {
+		super(newBDType);
+	}
+
+	/**
+	 * Get the body data of one edge of a chain.
+	 * @param fixture The chain's fixture.
+	 * @param childIndex The index of the edge in the chain. Box2D gives this in contacts as the child index.
+	 * @return The body data of the edge.
+	 */
+	public BodyData getEdgeData(Fixture fixture, int childIndex) {
+		if (fixture.getUserData() instanceof BodyData[]) {
+			return ((BodyData[])fixture.getUserData())[childIndex];
+		}
+		return this;
+	}
+
+}
@@ -45,6 +45,7 @@ public class Cloud extends Entity {
 	public void update() {
 		if (body.getPosition().x * StaticVars.PIXELS_PER_METER > StaticVars.LEVEL_WIDTH + baseShape.getRegionWidth()) {
 			body.setTransform(-baseShape.getRegionWidth() / StaticVars.PIXELS_PER_METER, body.getPosition().y, 0);
+			snapRenderPosition(); // Don't interpolate across the whole level when wrapping around.
 		}
 	}
 
@@ -20,70 +20,110 @@
 
 package com.platformer.game;
 
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
 import com.badlogic.gdx.physics.box2d.ContactListener;
-import com.badlogic.gdx.physics.box2d.EdgeShape;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.utils.Array;
 import com.platformer.game.BodyData.BodyDataType;
 /**
  * This class handles things that need to happen when a collision occurs, such as making enemies jump when they hit a wall.
+ * What happens for each pair of body types is looked up in a ContactDispatcher, so new types of body can add handlers with {@link #registerBeginContact} and {@link #registerPreSolve}.
+ * New contacts aren't handled inside the Box2D callback. They are recorded, and handled by {@link #processEvents()} once the physics step is over.
  * @author Vincent Macri
  */
 public class CollisionListener implements ContactListener {
 
+	/** The queues that record when two bodies start touching. */
+	private final ContactDispatcher beginContactHandlers = new ContactDispatcher();
+
+	/** Every queue in beginContactHandlers, in the order they were registered. */
+	private final Array<ContactEventQueue> eventQueues = new Array<ContactEventQueue>();
+
+	/** The handlers run every step for touching bodies, before the contact is solved. */
+	private final ContactDispatcher preSolveHandlers = new ContactDispatcher();
+
+	/** The number of contacts each event queue can hold before it needs to grow. */
+	private static final int EVENT_QUEUE_CAPACITY = 64;
+
+	/** Create a collision listener with the game's handlers. */
+	public CollisionListener() {
+		registerBeginContact(BodyDataType.KNIGHT, BodyDataType.WALL, new ContactEventHandler() {
+			@Override
+			public void handle(Fixture fixtureA, BodyData bodyDataA, Fixture fixtureB, BodyData bodyDataB) {
+				knightHitWall((Knight)bodyDataA, (LevelSegment)bodyDataB);
+			}
+		});
+
+		registerBeginContact(BodyDataType.KNIGHT, BodyDataType.BULLET, new ContactEventHandler() {
+			@Override
+			public void handle(Fixture fixtureA, BodyData bodyDataA, Fixture fixtureB, BodyData bodyDataB) {
+				knightHitBullet((Knight)bodyDataA, (BaseBullet)bodyDataB);
+			}
+		});
+
+		ContactEventHandler bulletHitWorld = new ContactEventHandler() {
+			@Override
+			public void handle(Fixture fixtureA, BodyData bodyDataA, Fixture fixtureB, BodyData bodyDataB) {
+				((BaseBullet)bodyDataA).kill();
+			}
+		};
+		registerBeginContact(BodyDataType.BULLET, BodyDataType.WALL, bulletHitWorld);
+		registerBeginContact(BodyDataType.BULLET, BodyDataType.GROUND, bulletHitWorld);
+
+		registerPreSolve(BodyDataType.PLAYER, BodyDataType.PLATFORM, new ContactHandler() {
+			@Override
+			public void handle(Contact contact, Fixture fixtureA, BodyData bodyDataA, Fixture fixtureB, BodyData bodyDataB) {
+				playerOnPlatform(contact, (Player)bodyDataA);
+			}
+		});
+	}
+
+	/**
+	 * Register a handler to run after the physics step for every pair of bodies of two types that started touching during the step.
+	 * @param typeA The first type. The handler gets the fixture of this type first.
+	 * @param typeB The second type.
+	 * @param handler The handler.
+	 */
+	public void registerBeginContact(BodyDataType typeA, BodyDataType typeB, ContactEventHandler handler) {
+		ContactEventQueue queue = new ContactEventQueue(handler, EVENT_QUEUE_CAPACITY);
+		beginContactHandlers.register(typeA, typeB, queue);
+		eventQueues.add(queue);
+	}
+
+	/**
+	 * Handle the contacts that started during the last physics step. Contacts of the same types are handled together.
+	 * This must be called after every world step.
+	 */
+	public void processEvents() {
+		for (int i = 0; i < eventQueues.size; i++) {
+			eventQueues.get(i).process();
+		}
+	}
+
+	/** Forget the contacts that started during the last physics step without handling them. */
+	public void clearEvents() {
+		for (int i = 0; i < eventQueues.size; i++) {
+			eventQueues.get(i).clear();
+		}
+	}
+
+	/**
+	 * Register a handler to run every step while two types of body are touching, before the contact is solved.
+	 * This runs inside the Box2D callback, so it must not create or destroy bodies.
+	 * @param typeA The first type. The handler gets the fixture of this type first.
+	 * @param typeB The second type.
+	 * @param handler The handler.
+	 */
+	public void registerPreSolve(BodyDataType typeA, BodyDataType typeB, ContactHandler handler) {
+		preSolveHandlers.register(typeA, typeB, handler);
+	}
+
 	@Override
 	public void beginContact(Contact contact) {
 		if (contact.isTouching()){ // If it's a proper collision and not just an AABB collision.
-			Fixture fixA = contact.getFixtureA();
-			Fixture fixB = contact.getFixtureB();
-			Body bodyA = fixA.getBody();
-			Body bodyB = fixB.getBody();
-			BodyData bodyDataA = (BodyData)bodyA.getUserData();
-			BodyData bodyDataB = (BodyData)bodyB.getUserData();
-
-			if (bodyDataA.bdType == BodyDataType.KNIGHT || bodyDataB.bdType == BodyDataType.KNIGHT){ // If a knight is in the collision.
-				if (bodyDataA.bdType == BodyDataType.WALL || bodyDataB.bdType == BodyDataType.WALL){ // If a knight is colliding with a wall.
-					Knight knight = bodyDataA.bdType == BodyDataType.KNIGHT ? (Knight)bodyDataA : (Knight)bodyDataB;
-					Fixture wall = bodyDataA.bdType == BodyDataType.WALL ? fixA : fixB;
-
-					// Temporarily store points in wall.
-					Vector2 vec1 = new Vector2();
-					Vector2 vec2 = new Vector2();
-
-					EdgeShape edge = (EdgeShape)wall.getShape();
-
-					edge.getVertex1(vec1);
-					edge.getVertex2(vec2);
-
-					float yPos = Math.max(vec1.y, vec2.y);
-
-					knight.jump(yPos - (knight.body.getPosition().y - knight.baseShape.getRegionHeight() / 2f / StaticVars.PIXELS_PER_METER));
-					knight.thinking = true; // Allow the enemy to think again.
-
-				} else if (bodyDataA.bdType == BodyDataType.BULLET || bodyDataB.bdType == BodyDataType.BULLET) { // If a knight is colliding with a bullet.
-					Knight knight = bodyDataA.bdType == BodyDataType.KNIGHT ? (Knight)bodyDataA : (Knight)bodyDataB;
-					BaseBullet bullet = bodyDataA.bdType == BodyDataType.BULLET ? (BaseBullet)bodyDataA : (BaseBullet)bodyDataB;
-
-					if (bullet.active) { // If a fireball collides with multiple enemies at once, only damage one. We want knockback to applied to all enemies however.
-						knight.takeDamage(bullet.damage);
-					}
-
-					bullet.kill();
-
-					knight.body.setLinearVelocity((bullet.body.getLinearVelocity().x * (0.5f + (float) Math.random())), 10 + 20 * (float) Math.random());
-					knight.seenPlayer = true;
-					knight.thinking = false; // Stop the knight from thinking.
-				}
-			} else if (bodyDataA.bdType == BodyDataType.BULLET || bodyDataB.bdType == BodyDataType.BULLET){ // If a bullet is in the collision.
-				if (bodyDataA.bdType == BodyDataType.WALL || bodyDataB.bdType == BodyDataType.WALL || bodyDataA.bdType == BodyDataType.GROUND || bodyDataB.bdType == BodyDataType.GROUND){ // If a bullet is colliding with a wall or the ground.
-					BaseBullet bullet = bodyDataA.bdType == BodyDataType.BULLET ? (BaseBullet)bodyDataA : (BaseBullet)bodyDataB;
-					bullet.kill();
-				}
-			}
+			beginContactHandlers.dispatch(contact); // Record the contact so it can be handled after the step.
 		}
 	}
 
@@ -95,22 +135,7 @@ public class CollisionListener implements ContactListener {
 	@Override
 	public void preSolve(Contact contact, Manifold oldManifold) {
 		if (contact.isTouching()){ // If it's a proper collision and not just an AABB collision.
-
-			Fixture fixA = contact.getFixtureA();
-			Fixture fixB = contact.getFixtureB();
-			Body bodyA = fixA.getBody();
-			Body bodyB = fixB.getBody();
-			BodyData bodyDataA = (BodyData)bodyA.getUserData();
-			BodyData bodyDataB = (BodyData)bodyB.getUserData();
-
-			if (bodyDataA.bdType == BodyDataType.PLAYER || bodyDataB.bdType == BodyDataType.PLAYER){ // If a player is in the collision.
-				if (bodyDataA.bdType == BodyDataType.PLATFORM || bodyDataB.bdType == BodyDataType.PLATFORM){ // If a player is colliding with a platform.
-					Player player = bodyDataA.bdType == BodyDataType.BULLET ? (Player)bodyDataA : (Player)bodyDataB;
-					if (player.body.getLinearVelocity().y > StaticVars.BASICALLY_ZERO) {
-						contact.setEnabled(false);
-					}
-				}
-			}
+			preSolveHandlers.dispatch(contact);
 		}
 	}
 
@@ -118,4 +143,42 @@ public class CollisionListener implements ContactListener {
 	public void postSolve(Contact contact, ContactImpulse impulse) {
 	}
 
+	/**
+	 * Make a knight jump over a wall it walked into.
+	 * @param knight The knight.
+	 * @param wall The wall.
+	 */
+	private void knightHitWall(Knight knight, LevelSegment wall) {
+		knight.jump(wall.top - (knight.body.getPosition().y - knight.baseShape.getRegionHeight() / 2f / StaticVars.PIXELS_PER_METER));
+		knight.setThinking(true); // Allow the enemy to think again.
+	}
+
+	/**
+	 * Damage a knight that was hit by a bullet and knock it back.
+	 * @param knight The knight.
+	 * @param bullet The bullet.
+	 */
+	private void knightHitBullet(Knight knight, BaseBullet bullet) {
+		if (bullet.active) { // If a fireball collides with multiple enemies at once, only damage one. We want knockback to applied to all enemies however.
+			knight.takeDamage(bullet.damage);
+		}
+
+		bullet.kill();
+
+		knight.body.setLinearVelocity((bullet.body.getLinearVelocity().x * (0.5f + (float) Math.random())), 10 + 20 * (float) Math.random());
+		knight.seePlayer();
+		knight.setThinking(false); // Stop the knight from thinking.
+	}
+
+	/**
+	 * Let the player jump up through a platform.
+	 * @param contact The contact between the player and the platform.
+	 * @param player The player.
+	 */
+	private void playerOnPlatform(Contact contact, Player player) {
+		if (player.body.getLinearVelocity().y > StaticVars.BASICALLY_ZERO) {
+			contact.setEnabled(false);
+		}
+	}
+
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.platformer.game.BodyData.BodyDataType;
+
+/**
+ * A table of ContactHandlers, indexed by the BodyDataTypes of the two bodies in a contact.
+ * Finding the handler for a contact is one array lookup, no matter how many handlers are registered.
+ * @author Vincent Macri
+ */
+public class ContactDispatcher {
+
+	/** The number of BodyDataTypes. */
+	private static final int TYPE_COUNT = BodyDataType.values().length;
+
+	/** The handler for each ordered pair of types, at index typeA * TYPE_COUNT + typeB. Null if nothing happens for that pair. */
+	private final ContactHandler[] handlers = new ContactHandler[TYPE_COUNT * TYPE_COUNT];
+
+	/** If the handler at the same index was registered with the types in the other order, so the fixtures need to be swapped before calling it. */
+	private final boolean[] swapped = new boolean[TYPE_COUNT * TYPE_COUNT];
+
+	/**
+	 * Register a handler for contacts between two types of body. It is used for both orders of the types. This replaces any handler already registered for the pair.
+	 * @param typeA The first type. The handler gets the fixture of this type first.
+	 * @param typeB The second type.
+	 * @param handler The handler.
+	 */
+	public void register(BodyDataType typeA, BodyDataType typeB, ContactHandler handler) {
+		int index = typeA.ordinal() * TYPE_COUNT + typeB.ordinal();
+		handlers[index] = handler;
+		swapped[index] = false;
+
+		if (typeA != typeB) {
+			int reverseIndex = typeB.ordinal() * TYPE_COUNT + typeA.ordinal();
+			handlers[reverseIndex] = handler;
+			swapped[reverseIndex] = true;
+		}
+	}
+
+	/**
+	 * Run the handler for a contact, if there is one.
+	 * @param contact The contact.
+	 */
+	public void dispatch(Contact contact) {
+		Fixture fixA = contact.getFixtureA();
+		Fixture fixB = contact.getFixtureB();
+		BodyData bodyDataA = (BodyData)fixA.getBody().getUserData();
+		BodyData bodyDataB = (BodyData)fixB.getBody().getUserData();
+
+		// The edges of a chain can have different types, so use the data of the edge that was hit.
+		if (bodyDataA instanceof ChainBodyData) {
+			bodyDataA = ((ChainBodyData)bodyDataA).getEdgeData(fixA, contact.getChildIndexA());
+		}
+		if (bodyDataB instanceof ChainBodyData) {
+			bodyDataB = ((ChainBodyData)bodyDataB).getEdgeData(fixB, contact.getChildIndexB());
+		}
+
+		int index = bodyDataA.bdType.ordinal() * TYPE_COUNT + bodyDataB.bdType.ordinal();
+		ContactHandler handler = handlers[index];
+		if (handler == null) { // Nothing happens when these types collide.
+			return;
+		}
+
+		if (swapped[index]) {
+			handler.handle(contact, fixB, bodyDataB, fixA, bodyDataA);
+		} else {
+			handler.handle(contact, fixA, bodyDataA, fixB, bodyDataB);
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * Something that happens after two types of body have started touching. Unlike a {@link ContactHandler}, this is run after the physics step, so it can safely change the world.
+ * @author Vincent Macri
+ */
+public interface ContactEventHandler {
+
+	/**
+	 * Handle a contact event. The fixtures and body data are given in the same order as the types the handler was registered with.
+	 * @param fixtureA The fixture of the first type the handler was registered with.
+	 * @param bodyDataA The body data of fixtureA's body.
+	 * @param fixtureB The fixture of the second type the handler was registered with.
+	 * @param bodyDataB The body data of fixtureB's body.
+	 */
+	void handle(Fixture fixtureA, BodyData bodyDataA, Fixture fixtureB, BodyData bodyDataB);
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * Records contacts of one pair of body types during a physics step, so that they can be handled together after the step.
+ * The arrays are reused every step, and only grow if more contacts happen in one step than ever before.
+ * @author Vincent Macri
+ */
+public class ContactEventQueue implements ContactHandler {
+
+	/** What to do with each contact once the step is over. */
+	private final ContactEventHandler handler;
+
+	/** The fixtures of each recorded contact, in the order the handler was registered with. */
+	private Fixture[] fixturesA, fixturesB;
+	/** The body data of each recorded contact, in the same order as the fixtures. Edges of chains have their own body data, so this isn't always the body's user data. */
+	private BodyData[] bodyDataA, bodyDataB;
+
+	/** The number of recorded contacts. */
+	private int size;
+
+	/**
+	 * Create an empty queue.
+	 * @param handler What to do with each contact once the step is over.
+	 * @param capacity How many contacts the queue can hold before it needs to grow.
+	 */
+	public ContactEventQueue(ContactEventHandler handler, int capacity) {
+		this.handler = handler;
+		fixturesA = new Fixture[capacity];
+		fixturesB = new Fixture[capacity];
+		bodyDataA = new BodyData[capacity];
+		bodyDataB = new BodyData[capacity];
+	}
+
+	/** Record a contact. The Contact itself is reused by Box2D, so only the fixtures and body data are kept. */
+	@Override
+	public void handle(Contact contact, Fixture fixtureA, BodyData bodyDataA, Fixture fixtureB, BodyData bodyDataB) {
+		if (size == fixturesA.length) {
+			grow();
+		}
+		fixturesA[size] = fixtureA;
+		this.bodyDataA[size] = bodyDataA;
+		fixturesB[size] = fixtureB;
+		this.bodyDataB[size] = bodyDataB;
+		size++;
+	}
+
+	/** Double the size of the arrays. */
+	private void grow() {
+		int newCapacity = Math.max(8, fixturesA.length * 2);
+		Fixture[] newFixturesA = new Fixture[newCapacity];
+		Fixture[] newFixturesB = new Fixture[newCapacity];
+		BodyData[] newBodyDataA = new BodyData[newCapacity];
+		BodyData[] newBodyDataB = new BodyData[newCapacity];
+		System.arraycopy(fixturesA, 0, newFixturesA, 0, size);
+		System.arraycopy(fixturesB, 0, newFixturesB, 0, size);
+		System.arraycopy(bodyDataA, 0, newBodyDataA, 0, size);
+		System.arraycopy(bodyDataB, 0, newBodyDataB, 0, size);
+		fixturesA = newFixturesA;
+		fixturesB = newFixturesB;
+		bodyDataA = newBodyDataA;
+		bodyDataB = newBodyDataB;
+	}
+
+	/** Handle every recorded contact in the order they happened, then empty the queue. */
+	public void process() {
+		for (int i = 0; i < size; i++) {
+			handler.handle(fixturesA[i], bodyDataA[i], fixturesB[i], bodyDataB[i]);
+
+			// Don't keep dead bodies from being garbage collected.
+			fixturesA[i] = null;
+			fixturesB[i] = null;
+			bodyDataA[i] = null;
+			bodyDataB[i] = null;
+		}
+		size = 0;
+	}
+
+	/** Empty the queue without handling the contacts. */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			fixturesA[i] = null;
+			fixturesB[i] = null;
+			bodyDataA[i] = null;
+			bodyDataB[i] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Get the number of recorded contacts.
+	 * @return The number of contacts waiting to be handled.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+}
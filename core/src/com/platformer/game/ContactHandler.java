@@ -0,0 +1,42 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * Something that happens when two types of body collide. Handlers are registered with a {@link ContactDispatcher} for a pair of BodyDataTypes.
+ * @author Vincent Macri
+ */
+public interface ContactHandler {
+
+	/**
+	 * Handle a contact. The fixtures and body data are given in the same order as the types the handler was registered with, no matter which order Box2D has them in.
+	 * @param contact The contact.
+	 * @param fixtureA The fixture of the first type the handler was registered with.
+	 * @param bodyDataA The body data of fixtureA's body.
+	 * @param fixtureB The fixture of the second type the handler was registered with.
+	 * @param bodyDataB The body data of fixtureB's body.
+	 */
+	void handle(Contact contact, Fixture fixtureA, BodyData bodyDataA, Fixture fixtureB, BodyData bodyDataB);
+
+}
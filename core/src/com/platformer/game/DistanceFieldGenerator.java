@@ -0,0 +1,257 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.GuillotineStrategy;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Turns a font rendered at a large size into a signed distance field font at a smaller size.
+ * Each pixel of a distance field glyph stores how far it is from the edge of the glyph, so the glyph stays sharp when it is drawn at any scale with {@link com.badlogic.gdx.graphics.g2d.DistanceFieldFont}.
+ * The distances are worked out exactly on the large glyphs with a distance transform, then sampled down.
+ * @author Vincent Macri
+ */
+final class DistanceFieldGenerator {
+
+	/** A distance that is larger than any distance in a glyph. */
+	private static final float FAR = 1e20f;
+
+	/** Only static methods. */
+	private DistanceFieldGenerator() {
+	}
+
+	/**
+	 * Make a distance field font out of a font.
+	 * The font's glyphs and metrics are changed to the distance field font's, and its glyph pages are replaced by the returned packer's pages.
+	 * @param data The font's data. Its glyphs must be in the pages of source.
+	 * @param source The packer that holds the font's glyph pages.
+	 * @param spread How far from the edge of a glyph distances are stored, in pixels of the distance field font. Each glyph gets this much padding.
+	 * @param downscale How many times smaller the distance field font is than the font.
+	 * @param pageSize The size of the distance field font's glyph pages.
+	 * @return A packer that holds the distance field glyphs. The caller must dispose it.
+	 */
+	static PixmapPacker generate(BitmapFontData data, PixmapPacker source, int spread, int downscale, int pageSize) {
+		PixmapPacker packer = new PixmapPacker(pageSize, pageSize, Format.RGBA8888, 1, false, new GuillotineStrategy());
+		Array<PixmapPacker.Page> sourcePages = source.getPages();
+
+		// Every glyph, with the missing glyph first since it may also be in the glyph table.
+		Array<Glyph> glyphs = new Array<Glyph>();
+		if (data.missingGlyph != null) {
+			glyphs.add(data.missingGlyph);
+		}
+		for (int i = 0; i < data.glyphs.length; i++) {
+			if (data.glyphs[i] != null) {
+				for (int j = 0; j < data.glyphs[i].length; j++) {
+					if (data.glyphs[i][j] != null && data.glyphs[i][j] != data.missingGlyph) {
+						glyphs.add(data.glyphs[i][j]);
+					}
+				}
+			}
+		}
+
+		for (int i = 0; i < glyphs.size; i++) {
+			Glyph glyph = glyphs.get(i);
+			if (glyph.width > 0 && glyph.height > 0) {
+				Pixmap field = createField(sourcePages.get(glyph.page).getPixmap(), glyph, spread, downscale);
+				String name = Integer.toString(i);
+				Rectangle rect = packer.pack(name, field);
+
+				// The field starts spread pixels to the left of the glyph, and ends spread pixels below the glyph after its last row is rounded up.
+				float height = glyph.height / (float)downscale;
+				glyph.xoffset = Math.round(glyph.xoffset / (float)downscale) - spread;
+				glyph.yoffset = Math.round(glyph.yoffset / (float)downscale - (field.getHeight() - 2 * spread - height)) - spread;
+				field.dispose();
+				glyph.page = packer.getPageIndex(name);
+				glyph.srcX = (int)rect.x;
+				glyph.srcY = (int)rect.y;
+				glyph.width = (int)rect.width;
+				glyph.height = (int)rect.height;
+			} else { // Glyphs like space have no pixels, but still need a page that exists.
+				glyph.xoffset = Math.round(glyph.xoffset / (float)downscale);
+				glyph.yoffset = Math.round(glyph.yoffset / (float)downscale);
+				glyph.width = Math.round(glyph.width / (float)downscale);
+				glyph.height = Math.round(glyph.height / (float)downscale);
+				glyph.page = 0;
+			}
+			glyph.xadvance = Math.round(glyph.xadvance / (float)downscale);
+
+			if (glyph.kerning != null) {
+				for (int page = 0; page < glyph.kerning.length; page++) {
+					if (glyph.kerning[page] != null) {
+						for (int j = 0; j < glyph.kerning[page].length; j++) {
+							glyph.kerning[page][j] = (byte)Math.round(glyph.kerning[page][j] / (float)downscale);
+						}
+					}
+				}
+			}
+		}
+
+		data.lineHeight /= downscale;
+		data.capHeight /= downscale;
+		data.xHeight /= downscale;
+		data.ascent /= downscale;
+		data.descent /= downscale;
+		data.down /= downscale;
+		data.spaceWidth /= downscale;
+
+		// The padding lets text line up with the edges of the glyphs instead of the edges of the fields.
+		data.padTop = spread;
+		data.padRight = spread;
+		data.padBottom = spread;
+		data.padLeft = spread;
+		return packer;
+	}
+
+	/**
+	 * Make the distance field of a glyph.
+	 * @param page The glyph page that the glyph is on.
+	 * @param glyph The glyph.
+	 * @param spread How far from the edge of the glyph distances are stored, in pixels of the field.
+	 * @param downscale How many pixels of the glyph each pixel of the field covers in each direction.
+	 * @return The field. The distance is stored in the alpha channel, where 0.5 is the edge of the glyph.
+	 */
+	private static Pixmap createField(Pixmap page, Glyph glyph, int spread, int downscale) {
+		int fieldWidth = (glyph.width + downscale - 1) / downscale + 2 * spread;
+		int fieldHeight = (glyph.height + downscale - 1) / downscale + 2 * spread;
+		int padding = spread * downscale;
+		int gridWidth = fieldWidth * downscale;
+		int gridHeight = fieldHeight * downscale;
+
+		// The squared distance from each pixel to the nearest pixel inside the glyph, and to the nearest pixel outside it.
+		ByteBuffer pagePixels = page.getPixels(); // The page is RGBA8888, so the alpha of each pixel is its fourth byte.
+		float[] outside = new float[gridWidth * gridHeight];
+		float[] inside = new float[gridWidth * gridHeight];
+		for (int y = 0; y < gridHeight; y++) {
+			for (int x = 0; x < gridWidth; x++) {
+				int glyphX = x - padding;
+				int glyphY = y - padding;
+				boolean in = glyphX >= 0 && glyphX < glyph.width && glyphY >= 0 && glyphY < glyph.height
+						&& (pagePixels.get(((glyph.srcY + glyphY) * page.getWidth() + glyph.srcX + glyphX) * 4 + 3) & 0xFF) >= 128;
+				outside[y * gridWidth + x] = in ? 0 : FAR;
+				inside[y * gridWidth + x] = in ? FAR : 0;
+			}
+		}
+		transform(outside, gridWidth, gridHeight, downscale);
+		transform(inside, gridWidth, gridHeight, downscale);
+
+		Pixmap field = new Pixmap(fieldWidth, fieldHeight, Format.RGBA8888);
+		ByteBuffer pixels = field.getPixels();
+		for (int y = 0; y < fieldHeight; y++) {
+			for (int x = 0; x < fieldWidth; x++) {
+				int i = (y * downscale + downscale / 2) * gridWidth + x * downscale + downscale / 2; // The pixel at the centre of the field pixel.
+				float distance = outside[i] == 0 ? (float)Math.sqrt(inside[i]) - 0.5f : 0.5f - (float)Math.sqrt(outside[i]);
+				float value = Math.max(0, Math.min(1, 0.5f + distance / downscale / (2 * spread)));
+				pixels.put((byte)0xFF).put((byte)0xFF).put((byte)0xFF).put((byte)Math.round(value * 255));
+			}
+		}
+		pixels.position(0);
+		return field;
+	}
+
+	/**
+	 * Replace each value of a grid with the smallest squared distance to any cell plus that cell's value.
+	 * With 0 on the cells of a shape and {@link #FAR} everywhere else, this gives the squared distance to the shape.
+	 * This is the separable transform from Felzenszwalb and Huttenlocher, "Distance Transforms of Sampled Functions".
+	 * Only the rows that are sampled for the field are finished, since the rest aren't used.
+	 * @param grid The grid, in rows.
+	 * @param width The width of the grid.
+	 * @param height The height of the grid.
+	 * @param downscale How many rows each pixel of the field covers. The middle row of each is finished.
+	 */
+	private static void transform(float[] grid, int width, int height, int downscale) {
+		int length = Math.max(width, height);
+		float[] values = new float[length];
+		float[] distances = new float[length];
+		int[] parabolas = new int[length];
+		float[] bounds = new float[length + 1];
+
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				values[y] = grid[y * width + x];
+			}
+			transform(values, height, distances, parabolas, bounds);
+			for (int y = 0; y < height; y++) {
+				grid[y * width + x] = distances[y];
+			}
+		}
+
+		for (int y = downscale / 2; y < height; y += downscale) {
+			System.arraycopy(grid, y * width, values, 0, width);
+			transform(values, width, distances, parabolas, bounds);
+			System.arraycopy(distances, 0, grid, y * width, width);
+		}
+	}
+
+	/**
+	 * The one dimensional distance transform, which finds the lower envelope of a parabola rooted at each value.
+	 * @param values The values.
+	 * @param length How many values there are.
+	 * @param distances Where to put the result.
+	 * @param parabolas Space for the positions of the parabolas in the envelope.
+	 * @param bounds Space for where each parabola of the envelope starts.
+	 */
+	private static void transform(float[] values, int length, float[] distances, int[] parabolas, float[] bounds) {
+		int k = 0;
+		parabolas[0] = 0;
+		bounds[0] = -FAR;
+		bounds[1] = FAR;
+		for (int q = 1; q < length; q++) {
+			float s = intersect(values, q, parabolas[k]);
+			while (s <= bounds[k]) {
+				k--;
+				s = intersect(values, q, parabolas[k]);
+			}
+			k++;
+			parabolas[k] = q;
+			bounds[k] = s;
+			bounds[k + 1] = FAR;
+		}
+
+		k = 0;
+		for (int q = 0; q < length; q++) {
+			while (bounds[k + 1] < q) {
+				k++;
+			}
+			int offset = q - parabolas[k];
+			distances[q] = offset * offset + values[parabolas[k]];
+		}
+	}
+
+	/**
+	 * Find where two parabolas of the distance transform cross.
+	 * @param values The values the parabolas are rooted at.
+	 * @param q The position of the first parabola.
+	 * @param p The position of the second parabola, which is before the first.
+	 * @return The position where they cross.
+	 */
+	private static float intersect(float[] values, int q, int p) {
+		return ((values[q] + q * q) - (values[p] + p * p)) / (2 * q - 2 * p);
+	}
+
+}
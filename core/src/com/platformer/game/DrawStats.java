@@ -0,0 +1,160 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.platformer.game.FrameProfiler.Phase;
+
+/**
+ * Counts the OpenGL work of each draw pass of a frame with libGDX's GLProfiler: GL calls, draw calls, texture binds, shader switches and vertices, along with the render calls of the pass's SpriteBatch.
+ * The passes are named by the {@link FrameProfiler} phase they are in. GLProfiler's counters are global, so passes can't overlap.
+ * The counts of the last frame are kept, along with the totals since the stats were enabled.
+ * @author Vincent Macri
+ */
+public class DrawStats {
+
+	/** Every phase. Only the ones that are counted as passes are shown. */
+	private static final Phase[] PHASES = Phase.values();
+
+	/** The counts of each pass in the last frame. */
+	private final int[] calls = new int[PHASES.length], drawCalls = new int[PHASES.length], textureBindings = new int[PHASES.length],
+			shaderSwitches = new int[PHASES.length], vertices = new int[PHASES.length], renderCalls = new int[PHASES.length];
+	/** The counts of each pass, added up over every frame. */
+	private final long[] totalCalls = new long[PHASES.length], totalDrawCalls = new long[PHASES.length], totalTextureBindings = new long[PHASES.length],
+			totalShaderSwitches = new long[PHASES.length], totalVertices = new long[PHASES.length], totalRenderCalls = new long[PHASES.length];
+	/** If each phase has been counted as a pass. */
+	private final boolean[] counted = new boolean[PHASES.length];
+	/** If each pass was drawn with a SpriteBatch. */
+	private final boolean[] batched = new boolean[PHASES.length];
+
+	/** How many frames have ended since the stats were enabled. */
+	private int frames;
+
+	/** Start counting. This replaces the GL with GLProfiler's, which checks for errors after every call, so it is slower. */
+	public void enable() {
+		GLProfiler.enable();
+		frames = 0;
+		for (int i = 0; i < PHASES.length; i++) {
+			counted[i] = false;
+			totalCalls[i] = totalDrawCalls[i] = totalTextureBindings[i] = totalShaderSwitches[i] = totalVertices[i] = totalRenderCalls[i] = 0;
+		}
+	}
+
+	/** Stop counting and put the original GL back. */
+	public void disable() {
+		GLProfiler.disable();
+	}
+
+	/**
+	 * Check if the stats are being counted.
+	 * @return If GLProfiler is enabled.
+	 */
+	public boolean isEnabled() {
+		return GLProfiler.isEnabled();
+	}
+
+	/** Start counting a pass. */
+	public void begin() {
+		GLProfiler.reset();
+	}
+
+	/**
+	 * Finish counting a pass.
+	 * @param pass The phase that the pass is in.
+	 * @param batch The SpriteBatch that the pass drew with, or null if it didn't use one. Its render calls are only counted until it begins again, so this must be called before then.
+	 */
+	public void end(Phase pass, SpriteBatch batch) {
+		end(pass, batch != null ? batch.renderCalls : -1);
+	}
+
+	/**
+	 * Finish counting a pass that drew with more than one batch, or a batch that began more than once.
+	 * @param pass The phase that the pass is in.
+	 * @param batchRenderCalls The render calls of the pass's batches added up, or -1 if it didn't use any.
+	 */
+	public void end(Phase pass, int batchRenderCalls) {
+		int i = pass.ordinal();
+		counted[i] = true;
+		batched[i] = batchRenderCalls >= 0;
+
+		calls[i] = GLProfiler.calls;
+		drawCalls[i] = GLProfiler.drawCalls;
+		textureBindings[i] = GLProfiler.textureBindings;
+		shaderSwitches[i] = GLProfiler.shaderSwitches;
+		vertices[i] = (int) GLProfiler.vertexCount.total;
+		renderCalls[i] = Math.max(batchRenderCalls, 0);
+
+		totalCalls[i] += calls[i];
+		totalDrawCalls[i] += drawCalls[i];
+		totalTextureBindings[i] += textureBindings[i];
+		totalShaderSwitches[i] += shaderSwitches[i];
+		totalVertices[i] += vertices[i];
+		totalRenderCalls[i] += renderCalls[i];
+	}
+
+	/** Finish a frame. */
+	public void endFrame() {
+		frames++;
+	}
+
+	/**
+	 * Append a line for each pass.
+	 * @param text What to append to.
+	 * @param average True to show the average of every frame, false to show the last frame.
+	 */
+	public void appendSummary(StringBuilder text, boolean average) {
+		for (int i = 0; i < PHASES.length; i++) {
+			if (!counted[i]) {
+				continue;
+			}
+			text.append('\n').append(PHASES[i].label).append(": ");
+			appendCount(text, calls[i], totalCalls[i], average).append(" GL calls, ");
+			appendCount(text, drawCalls[i], totalDrawCalls[i], average).append(" draws, ");
+			appendCount(text, textureBindings[i], totalTextureBindings[i], average).append(" binds, ");
+			appendCount(text, shaderSwitches[i], totalShaderSwitches[i], average).append(" shader switches, ");
+			appendCount(text, vertices[i], totalVertices[i], average).append(" vertices");
+			if (batched[i]) {
+				text.append(", ");
+				appendCount(text, renderCalls[i], totalRenderCalls[i], average).append(" batch render calls");
+			}
+		}
+	}
+
+	/**
+	 * Append one count.
+	 * @param text What to append to.
+	 * @param last The count in the last frame.
+	 * @param total The count over every frame.
+	 * @param average True to append the average, false to append the last frame's count.
+	 * @return The text.
+	 */
+	private StringBuilder appendCount(StringBuilder text, int last, long total, boolean average) {
+		if (average) {
+			Help.appendHundredths(text, frames == 0 ? 0 : (float) total / frames);
+		} else {
+			text.append(last);
+		}
+		return text;
+	}
+
+}
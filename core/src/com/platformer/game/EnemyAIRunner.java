@@ -0,0 +1,173 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Runs the enemy AI of the enemies that the {@link AIScheduler} picks. When there are enough enemies, they are split between the cores, with the main thread taking a share too.
+ * Each thread gives its commands to its own {@link AICommands}, and the commands are applied on the main thread once all of the AI is done, so Box2D is only used from one thread.
+ * @author Vincent Macri
+ */
+class EnemyAIRunner {
+
+	/** Below this many enemies, starting the other threads takes longer than running all of the AI on the main thread. */
+	static final int PARALLEL_THRESHOLD = 512;
+
+	/** The number of threads that run AI, including the main thread. */
+	private final int threads;
+
+	/** The commands from each thread. The main thread uses the first one. */
+	private final AICommands[] commands;
+
+	/** The AI work for each of the other threads. */
+	private final Chunk[] chunks;
+
+	/** The other threads. They are only started once there are enough enemies. */
+	private ExecutorService pool;
+
+	/** Released once by each chunk that finishes. */
+	private final Semaphore finished = new Semaphore(0);
+
+	/** Decides which enemies think each step. */
+	private final AIScheduler scheduler = new AIScheduler();
+
+	/** The first error thrown by a chunk in this step, if there was one. */
+	private volatile Throwable error;
+
+	/** The share of the enemies that one of the other threads runs. */
+	private class Chunk implements Runnable {
+		/** The commands that this chunk gives. */
+		final AICommands chunkCommands;
+		/** The enemies to run, from start to end - 1. */
+		int start, end;
+
+		Chunk(AICommands chunkCommands) {
+			this.chunkCommands = chunkCommands;
+		}
+
+		@Override
+		public void run() {
+			try {
+				StaticVars.enemyList.runAI(start, end, chunkCommands, scheduler);
+			} catch (Throwable t) {
+				error = t;
+			} finally {
+				finished.release();
+			}
+		}
+	}
+
+	/** Create a runner that uses every core. */
+	EnemyAIRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a runner.
+	 * @param threads The number of threads to run AI on, including the main thread.
+	 */
+	EnemyAIRunner(int threads) {
+		this.threads = Math.max(1, threads);
+		commands = new AICommands[this.threads];
+		chunks = new Chunk[this.threads - 1];
+		for (int i = 0; i < this.threads; i++) {
+			commands[i] = new AICommands();
+			if (i > 0) {
+				chunks[i - 1] = new Chunk(commands[i]);
+			}
+		}
+	}
+
+	/**
+	 * Run the AI of the enemies, then apply their commands.
+	 * @param store The enemies.
+	 * @param player The player.
+	 */
+	void run(EnemyStore store, Player player) {
+		store.savePositions();
+		scheduler.beginStep();
+		float playerX = player.body.getPosition().x;
+		float playerY = player.body.getPosition().y;
+		for (int i = 0; i < threads; i++) {
+			commands[i].playerX = playerX;
+			commands[i].playerY = playerY;
+		}
+
+		if (threads == 1 || store.size < PARALLEL_THRESHOLD) {
+			store.runAI(0, store.size, commands[0], scheduler);
+		} else {
+			runParallel(store);
+		}
+
+		for (int i = 0; i < threads; i++) { // The threads' commands are applied in the same order every step.
+			commands[i].apply(store, player);
+		}
+	}
+
+	/**
+	 * Split the enemies evenly between the threads and wait for all of them to finish.
+	 * @param store The enemies.
+	 */
+	private void runParallel(EnemyStore store) {
+		if (pool == null) {
+			pool = Executors.newFixedThreadPool(chunks.length, new ThreadFactory() {
+				private int count;
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Enemy AI " + ++count);
+					thread.setDaemon(true); // Don't keep the game running after it closes.
+					return thread;
+				}
+			});
+		}
+
+		int chunkSize = (store.size + threads - 1) / threads;
+		for (int i = 0; i < chunks.length; i++) {
+			chunks[i].start = Math.min(store.size, (i + 1) * chunkSize);
+			chunks[i].end = Math.min(store.size, (i + 2) * chunkSize);
+			pool.execute(chunks[i]);
+		}
+		store.runAI(0, Math.min(store.size, chunkSize), commands[0], scheduler); // The main thread takes the first chunk.
+
+		finished.acquireUninterruptibly(chunks.length);
+		if (error != null) {
+			Throwable chunkError = error;
+			error = null;
+			throw new GdxRuntimeException("Enemy AI failed.", chunkError);
+		}
+	}
+
+	/** Stop the other threads. */
+	void dispose() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+}
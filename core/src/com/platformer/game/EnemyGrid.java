@@ -0,0 +1,124 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A spatial index of the enemies. The level is split into columns of equal width, and each enemy is kept in the column its body is in.
+ * Levels are long and flat, so only the x position is used.
+ * This lets range checks, such as melee attacks and sight checks, only look at the enemies that are nearby instead of every enemy in the level.
+ * @author Vincent Macri
+ */
+public class EnemyGrid {
+
+	/** The width of each column, in meters. */
+	public static final float CELL_WIDTH = 4f;
+
+	/** The enemies in each column. */
+	private final Array<Array<BaseEnemy>> cells;
+
+	/**
+	 * Create an empty grid.
+	 * @param levelWidth The width of the level, in pixels. Enemies outside of the level are put in the first or last column.
+	 */
+	public EnemyGrid(int levelWidth) {
+		int numberOfCells = MathUtils.ceil(levelWidth / StaticVars.PIXELS_PER_METER / CELL_WIDTH);
+		cells = new Array<Array<BaseEnemy>>(true, numberOfCells);
+		for (int i = 0; i < numberOfCells; i++) {
+			cells.add(new Array<BaseEnemy>(false, 4));
+		}
+	}
+
+	/**
+	 * Get the column that an x position is in.
+	 * @param x The x position, in meters.
+	 * @return The index of the column.
+	 */
+	private int cellOf(float x) {
+		return MathUtils.clamp((int) Math.floor(x / CELL_WIDTH), 0, cells.size - 1);
+	}
+
+	/**
+	 * Move every enemy into the column it is now in. Enemies that aren't in the grid yet are added.
+	 * This should be called after every physics step.
+	 * @param enemies The enemies to update.
+	 */
+	public void update(EnemyStore enemies) {
+		for (int i = 0; i < enemies.size; i++) {
+			BaseEnemy enemy = enemies.get(i);
+			int cell = cellOf(enemy.body.getPosition().x);
+			if (cell != enemy.gridCell) {
+				if (enemy.gridCell != -1) {
+					cells.get(enemy.gridCell).removeValue(enemy, true);
+				}
+				cells.get(cell).add(enemy);
+				enemy.gridCell = cell;
+			}
+		}
+	}
+
+	/**
+	 * Remove an enemy from the grid.
+	 * @param enemy The enemy to remove.
+	 */
+	public void remove(BaseEnemy enemy) {
+		if (enemy.gridCell != -1) {
+			cells.get(enemy.gridCell).removeValue(enemy, true);
+			enemy.gridCell = -1;
+		}
+	}
+
+	/** Remove every enemy from the grid. */
+	public void clear() {
+		for (int i = 0; i < cells.size; i++) {
+			Array<BaseEnemy> cell = cells.get(i);
+			for (int j = 0; j < cell.size; j++) {
+				cell.get(j).gridCell = -1;
+			}
+			cell.clear();
+		}
+	}
+
+	/**
+	 * Find the enemies within a distance of a point. Only the columns that the circle overlaps are checked.
+	 * @param centre The point to search around, in meters.
+	 * @param radius How far from the point to search, in meters.
+	 * @param result The enemies found are added to this array. It is not cleared first.
+	 * @return The result array.
+	 */
+	public Array<BaseEnemy> findEnemiesNear(Vector2 centre, float radius, Array<BaseEnemy> result) {
+		int lastCell = cellOf(centre.x + radius);
+		for (int i = cellOf(centre.x - radius); i <= lastCell; i++) {
+			Array<BaseEnemy> cell = cells.get(i);
+			for (int j = 0; j < cell.size; j++) {
+				BaseEnemy enemy = cell.get(j);
+				if (Help.calcDistance(centre, enemy.body.getPosition()) <= radius) {
+					result.add(enemy);
+				}
+			}
+		}
+		return result;
+	}
+
+}
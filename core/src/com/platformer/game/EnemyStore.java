@@ -0,0 +1,299 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * An unordered list of the enemies that also stores the state that is updated for every enemy every step, with an array for each part of the state.
+ * The per-step passes ({@link #runAI(int, int, AICommands, AIScheduler)}, {@link #updateAnimations(float)} and {@link #updateHealth()}) are loops over these arrays, so they don't have to follow a pointer to every enemy to find out that there's nothing to do.
+ * Like an unordered Array, removing an enemy moves the last enemy into its place. An enemy's place is kept in {@link BaseEnemy#storeIndex}.
+ * <p>
+ * Each enemy also gets an id that stays the same while it is in the store. An id is never reused for another enemy while it could still be held, since part of it counts how many times its slot has been used.
+ * @author Vincent Macri
+ */
+public class EnemyStore {
+
+	/** How many bits of an id are the slot. The rest of the bits are the slot's generation. */
+	private static final int SLOT_BITS = 20;
+	/** Gets the slot from an id. */
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	/** The generations wrap around before they reach the sign bit, so ids are never negative. */
+	private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+
+	/** The number of enemies in the store. */
+	public int size;
+
+	/** The enemies. */
+	BaseEnemy[] enemies;
+	/** The id of each enemy. */
+	int[] ids;
+	/** How much health each enemy has. */
+	float[] health;
+	/** How long each enemy has been doing its current action, in seconds. */
+	float[] animationTime;
+	/** What each enemy is doing, without its direction. See {@link BaseEnemy#getBaseAction()}. */
+	int[] baseAction;
+	/** Which way each enemy is facing. 0 is left, 1 is right. */
+	int[] direction;
+	/** The complete action of each enemy when its frame was last picked. */
+	int[] lastAction;
+	/** The animations of each enemy. Enemies of the same type share them. */
+	AnimationTable[] animations;
+	/** The frame to draw for each enemy. */
+	PGSI[] frames;
+	/** If each enemy has seen the player. */
+	boolean[] seenPlayer;
+	/** If each enemy is thinking. Enemies stop thinking while they're knocked back. */
+	boolean[] thinking;
+	/** The position of each enemy, in meters, saved by {@link #savePositions()} so the AI doesn't have to read the bodies. */
+	float[] x, y;
+	/** The step that each enemy last thought in. See {@link AIScheduler}. */
+	int[] lastThought;
+	/** If each enemy is too far from the player to think. */
+	boolean[] dormant;
+
+	/** The generation of each slot. This goes up when the enemy in the slot is removed. */
+	private int[] slotGenerations = new int[0];
+	/** Where the enemy in each slot is in the store, or -1 if the slot is empty. */
+	private int[] slotIndices = new int[0];
+	/** The slots that are empty. */
+	private final IntArray freeSlots = new IntArray();
+
+	/**
+	 * Create an empty store.
+	 * @param capacity How many enemies the store can hold before it needs to grow.
+	 */
+	public EnemyStore(int capacity) {
+		resize(Math.max(capacity, 1));
+	}
+
+	/**
+	 * Add an enemy. Its state starts as standing left, with full health.
+	 * @param enemy The enemy to add.
+	 */
+	public void add(BaseEnemy enemy) {
+		if (size == enemies.length) {
+			resize(size * 2);
+		}
+
+		int slot;
+		if (freeSlots.size > 0) {
+			slot = freeSlots.pop();
+		} else {
+			slot = slotIndices.length;
+			if (slot > SLOT_MASK) {
+				throw new GdxRuntimeException("There can't be more than " + (SLOT_MASK + 1) + " enemies.");
+			}
+			slotIndices = Arrays.copyOf(slotIndices, Math.max(slot * 2, 16));
+			slotGenerations = Arrays.copyOf(slotGenerations, slotIndices.length);
+			for (int i = slotIndices.length - 1; i > slot; i--) {
+				freeSlots.add(i);
+			}
+		}
+
+		int index = size++;
+		slotIndices[slot] = index;
+		enemies[index] = enemy;
+		ids[index] = slotGenerations[slot] << SLOT_BITS | slot;
+		health[index] = enemy.MAX_HEALTH;
+		animationTime[index] = 0;
+		baseAction[index] = 0;
+		direction[index] = 0;
+		lastAction[index] = 0;
+		animations[index] = enemy.getAnimations();
+		frames[index] = animations[index].getFrame(0, 0);
+		seenPlayer[index] = false;
+		thinking[index] = true; // Enemies start out able to think.
+		lastThought[index] = -AIScheduler.FAR_INTERVAL;
+		dormant[index] = false;
+		enemy.storeIndex = index;
+	}
+
+	/**
+	 * Get an enemy.
+	 * @param index Where the enemy is in the store.
+	 * @return The enemy.
+	 */
+	public BaseEnemy get(int index) {
+		return enemies[index];
+	}
+
+	/**
+	 * Get the id of an enemy.
+	 * @param index Where the enemy is in the store.
+	 * @return The enemy's id.
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * Find where an enemy is in the store.
+	 * @param id The enemy's id.
+	 * @return The enemy's index, or -1 if the enemy has been removed.
+	 */
+	public int indexOf(int id) {
+		int slot = id & SLOT_MASK;
+		if (slot >= slotIndices.length || slotGenerations[slot] != id >>> SLOT_BITS) {
+			return -1;
+		}
+		return slotIndices[slot];
+	}
+
+	/**
+	 * Remove an enemy. The last enemy is moved into its place.
+	 * @param index Where the enemy is in the store.
+	 */
+	public void removeIndex(int index) {
+		int slot = ids[index] & SLOT_MASK;
+		slotGenerations[slot] = (slotGenerations[slot] + 1) & GENERATION_MASK;
+		slotIndices[slot] = -1;
+		freeSlots.add(slot);
+		enemies[index].storeIndex = -1;
+
+		int last = --size;
+		if (index != last) {
+			enemies[index] = enemies[last];
+			ids[index] = ids[last];
+			health[index] = health[last];
+			animationTime[index] = animationTime[last];
+			baseAction[index] = baseAction[last];
+			direction[index] = direction[last];
+			lastAction[index] = lastAction[last];
+			animations[index] = animations[last];
+			frames[index] = frames[last];
+			seenPlayer[index] = seenPlayer[last];
+			thinking[index] = thinking[last];
+			lastThought[index] = lastThought[last];
+			dormant[index] = dormant[last];
+
+			enemies[index].storeIndex = index;
+			slotIndices[ids[index] & SLOT_MASK] = index;
+		}
+		enemies[last] = null;
+		animations[last] = null;
+		frames[last] = null;
+	}
+
+	/** Remove every enemy. */
+	public void clear() {
+		while (size > 0) {
+			removeIndex(size - 1);
+		}
+	}
+
+	/** Save the position of every enemy's body for the AI. */
+	public void savePositions() {
+		for (int i = 0; i < size; i++) {
+			Vector2 position = enemies[i].body.getPosition();
+			x[i] = position.x;
+			y[i] = position.y;
+		}
+	}
+
+	/**
+	 * Run the AI of the enemies that have seen the player, are thinking, and are scheduled to think this step.
+	 * @param start The index of the first enemy to run.
+	 * @param end One past the index of the last enemy to run.
+	 * @param commands Where the AI gives its commands.
+	 * @param scheduler Decides which enemies think this step.
+	 */
+	void runAI(int start, int end, AICommands commands, AIScheduler scheduler) {
+		for (int i = start; i < end; i++) {
+			if (seenPlayer[i] && thinking[i] && scheduler.schedule(this, i, commands)) {
+				enemies[i].runAI(commands);
+			}
+		}
+	}
+
+	/**
+	 * Advance the enemies' animations and pick the frame each of them shows. An enemy's animation starts over when its action changes.
+	 * @param delta How much time has passed, in seconds.
+	 */
+	public void updateAnimations(float delta) {
+		for (int i = 0; i < size; i++) {
+			int action = baseAction[i] + direction[i];
+			if (action != lastAction[i]) { // If the enemy is performing a new action.
+				lastAction[i] = action;
+				animationTime[i] = 0;
+			} else {
+				animationTime[i] += delta;
+			}
+			frames[i] = animations[i].getFrame(action, animationTime[i]);
+		}
+	}
+
+	/** Kill the enemies that have run out of health. */
+	public void updateHealth() {
+		for (int i = 0; i < size; i++) {
+			if (health[i] <= 0 && enemies[i].active) {
+				health[i] = 0;
+				enemies[i].kill();
+			}
+		}
+	}
+
+	/**
+	 * Change how many enemies the store can hold.
+	 * @param capacity The new capacity. This must be at least {@link #size}.
+	 */
+	private void resize(int capacity) {
+		if (enemies == null) {
+			enemies = new BaseEnemy[capacity];
+			ids = new int[capacity];
+			health = new float[capacity];
+			animationTime = new float[capacity];
+			baseAction = new int[capacity];
+			direction = new int[capacity];
+			lastAction = new int[capacity];
+			animations = new AnimationTable[capacity];
+			frames = new PGSI[capacity];
+			seenPlayer = new boolean[capacity];
+			thinking = new boolean[capacity];
+			x = new float[capacity];
+			y = new float[capacity];
+			lastThought = new int[capacity];
+			dormant = new boolean[capacity];
+		} else {
+			enemies = Arrays.copyOf(enemies, capacity);
+			ids = Arrays.copyOf(ids, capacity);
+			health = Arrays.copyOf(health, capacity);
+			animationTime = Arrays.copyOf(animationTime, capacity);
+			baseAction = Arrays.copyOf(baseAction, capacity);
+			direction = Arrays.copyOf(direction, capacity);
+			lastAction = Arrays.copyOf(lastAction, capacity);
+			animations = Arrays.copyOf(animations, capacity);
+			frames = Arrays.copyOf(frames, capacity);
+			seenPlayer = Arrays.copyOf(seenPlayer, capacity);
+			thinking = Arrays.copyOf(thinking, capacity);
+			x = Arrays.copyOf(x, capacity);
+			y = Arrays.copyOf(y, capacity);
+			lastThought = Arrays.copyOf(lastThought, capacity);
+			dormant = Arrays.copyOf(dormant, capacity);
+		}
+	}
+
+}
@@ -20,8 +20,8 @@
 
 package com.platformer.game;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
@@ -48,6 +48,12 @@ public abstract class Entity extends BodyData{
 	/** Box2D physics body for this Entity. */
 	Body body;
 
+	/** The position of the body at the end of the previous physics step, in meters. */
+	final Vector2 previousPosition = new Vector2();
+
+	/** The position to draw the entity at, in meters. This is interpolated between {@link #previousPosition} and the current body position. */
+	final Vector2 renderPosition = new Vector2();
+
 	/**
 	 * The Entity constructor sets up all of the necessary properties of an Entity, such as its Box2D body. It provides control over the physics properties.
 	 * @param loc The entity's location.
@@ -97,17 +103,63 @@ public abstract class Entity extends BodyData{
 		// BodyDef and FixtureDef don't need disposing, but shapes do.
 		shape.dispose();
 
+		snapRenderPosition();
+
 		active = true;
 	}
 
 	/**
 	 * Draw the entity.
-	 * @param batch The SpriteBatch to draw with.
+	 * @param queue The render queue to add the draws to.
 	 */
-	public void draw(SpriteBatch batch) {
-		batch.draw(baseShape, body.getPosition().x * StaticVars.PIXELS_PER_METER - baseShape.getRegionWidth() / 2, body.getPosition().y * StaticVars.PIXELS_PER_METER - baseShape.getRegionHeight() / 2);
+	public void draw(RenderQueue queue) {
+		queue.draw(baseShape, renderPosition.x * StaticVars.PIXELS_PER_METER - baseShape.getRegionWidth() / 2, renderPosition.y * StaticVars.PIXELS_PER_METER - baseShape.getRegionHeight() / 2);
 	} 
 
+	/**
+	 * Get the area that {@link #draw(RenderQueue)} draws over.
+	 * @param bounds The rectangle to store the bounds in, in pixels.
+	 */
+	void getDrawBounds(Rectangle bounds) {
+		bounds.set(renderPosition.x * StaticVars.PIXELS_PER_METER - baseShape.getRegionWidth() / 2, renderPosition.y * StaticVars.PIXELS_PER_METER - baseShape.getRegionHeight() / 2,
+				baseShape.getRegionWidth(), baseShape.getRegionHeight());
+	}
+
+	/** Remember where the body is before the next physics step, so that drawing can be interpolated. */
+	void savePreviousPosition() {
+		previousPosition.set(body.getPosition());
+	}
+
+	/**
+	 * Set {@link #renderPosition} to a point between the previous and the current body position.
+	 * @param alpha How far between the previous physics step and the current one to draw the entity, in the range [0, 1].
+	 */
+	void interpolate(float alpha) {
+		renderPosition.set(previousPosition).lerp(body.getPosition(), alpha);
+	}
+
+	/** Move the entity to its current body position without interpolating. This should be used after teleporting the body. */
+	void snapRenderPosition() {
+		previousPosition.set(body.getPosition());
+		renderPosition.set(previousPosition);
+	}
+
 	public abstract void update();
 
+	/**
+	 * Getter for active.
+	 * @return active
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Get the position of the body.
+	 * @return The position of the center of the body, in meters.
+	 */
+	public Vector2 getPosition() {
+		return body.getPosition();
+	}
+
 }
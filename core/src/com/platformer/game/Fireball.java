@@ -24,12 +24,13 @@
 package com.platformer.game;
 
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
 /**
- * The fireball class.
+ * The fireball class. Fireballs are kept in a {@link FireballPool} and reused.
  * @author Vincent Macri
  */
-public class Fireball extends BaseBullet {
+public class Fireball extends BaseBullet implements Poolable {
 	
 	/** How long the fireball lasts, in seconds. */
 	private final static float FIREBALL_LIFESPAN = 10f;
@@ -37,13 +38,31 @@ public class Fireball extends BaseBullet {
 	/** How much damage the fireball does. */
 	private final static float FIREBALL_DAMAGE = 1f;
 	
-	/**
-	 * @param newPos
-	 * @param newVelocity
-	 */
-	public Fireball(Vector2 newPos, Vector2 newVelocity) {
-		super(newPos, newVelocity, newVelocity.x <= 0 ? Platformer.fireballLeft : Platformer.fireballRight, FIREBALL_DAMAGE, FIREBALL_LIFESPAN);
+	/** Create a fireball that isn't in the game yet. Use {@link #launch} to shoot it. */
+	public Fireball() {
+		super(new Vector2(), new Vector2(), Platformer.fireballRight, FIREBALL_DAMAGE, FIREBALL_LIFESPAN);
 		body.setUserData(this);
+		reset();
+	}
+
+	@Override
+	void launch(Vector2 newPos, Vector2 newVelocity) {
+		image = newVelocity.x <= 0 ? Platformer.fireballLeft : Platformer.fireballRight;
+		super.launch(newPos, newVelocity);
+	}
+
+	/** Return the fireball to the pool instead of destroying its body. */
+	@Override
+	void remove() {
+		StaticVars.fireballPool.free(this);
+	}
+
+	/** Turn off the body so it doesn't collide with anything while it's in the pool. */
+	@Override
+	public void reset() {
+		body.setActive(false);
+		body.setLinearVelocity(0, 0);
+		active = false;
 	}
 
 }
@@ -0,0 +1,91 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * A pool of fireballs. Fireballs that are no longer needed have their bodies turned off instead of destroyed, so shooting a fireball doesn't need to create a new Box2D body.
+ * The pool's bodies belong to the world it was created with, so a new pool is needed for each world.
+ * @author Vincent Macri
+ */
+public class FireballPool extends Pool<Fireball> {
+
+	/** How many fireballs were reused from the pool. */
+	private int hits;
+
+	/** How many fireballs had to be created because the pool was empty. */
+	private int misses;
+
+	/** How many fireballs are currently in use. */
+	private int inUse;
+
+	/** The most fireballs that have been in use at once. */
+	private int peakInUse;
+
+	@Override
+	protected Fireball newObject() {
+		return new Fireball();
+	}
+
+	@Override
+	public Fireball obtain() {
+		if (getFree() > 0) {
+			hits++;
+		} else {
+			misses++;
+		}
+		inUse++;
+		peakInUse = Math.max(peakInUse, inUse);
+		return super.obtain();
+	}
+
+	@Override
+	public void free(Fireball fireball) {
+		super.free(fireball);
+		inUse--;
+	}
+
+	/**
+	 * Getter for hits.
+	 * @return How many fireballs were reused from the pool.
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Getter for misses.
+	 * @return How many fireballs had to be created because the pool was empty.
+	 */
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Getter for peakInUse.
+	 * @return The most fireballs that have been in use at once.
+	 */
+	public int getPeakInUse() {
+		return peakInUse;
+	}
+
+}
@@ -0,0 +1,357 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Times each phase of a frame, and keeps the times of the last {@link #HISTORY} frames.
+ * The times can be summarized as text, drawn as a stacked graph, or written to a CSV file.
+ * A histogram of each phase's times over the kept frames is updated as frames are recorded, so it always covers the same frames as the summary.
+ * Time in a frame that isn't in any phase is counted as {@link Phase#OTHER}.
+ * While the profiler is disabled, {@link #start()} and {@link #stop} do nothing, so the game can always call them.
+ * @author Vincent Macri
+ */
+public class FrameProfiler {
+
+	/** The phases of a frame, in the order they are stacked in the graph. */
+	public enum Phase {
+		WORLD_STEP("World step", Color.ROYAL),
+		PLAYER("Player", Color.LIME),
+		ENEMIES("Enemies", Color.SCARLET),
+		BULLETS("Bullets", Color.ORANGE),
+		CLOUDS("Clouds", Color.WHITE),
+		REMOVE_INACTIVE("Remove inactive", Color.GRAY),
+		WORLD_BATCH("World batch", Color.CYAN),
+		STAGE("Stage", Color.MAGENTA),
+		DEBUG_RENDER("Box2D debug", Color.GOLD),
+		/** Everything that wasn't timed as another phase. */
+		OTHER("Other", Color.DARK_GRAY);
+
+		/** The name of the phase, for the summary and the CSV file. */
+		final String label;
+		/** The colour of the phase in the graph. */
+		final Color color;
+
+		Phase(String label, Color color) {
+			this.label = label;
+			this.color = color;
+		}
+	}
+
+	/** How many frames are kept. This is ten seconds at 60 FPS. */
+	public static final int HISTORY = 600;
+
+	/** How many frames the graph shows. Each frame is one pixel wide. */
+	public static final int GRAPH_FRAMES = 300;
+	/** How tall a millisecond is in the graph, in pixels. */
+	private static final float GRAPH_PIXELS_PER_MILLISECOND = 4;
+	/** The frame time that the graph marks, in milliseconds. */
+	private static final float FRAME_BUDGET = 1000 / 60f;
+
+	/** Every phase. */
+	private static final Phase[] PHASES = Phase.values();
+
+	/** If the profiler is timing. */
+	private boolean enabled;
+
+	/** The time spent in each phase so far this frame, in nanoseconds. */
+	private final long[] current = new long[PHASES.length];
+	/** When the current frame started, from {@link System#nanoTime()}, or 0 before the first frame. */
+	private long frameStart;
+
+	/** The time of each phase in each kept frame, in milliseconds. Frame n is at n % HISTORY. */
+	private final float[][] history = new float[PHASES.length][HISTORY];
+	/** The total time of each kept frame, in milliseconds. */
+	private final float[] frameTimes = new float[HISTORY];
+	/** How many frames have been recorded. */
+	private int frames;
+
+	/** Used for sorting times to find percentiles. */
+	private final float[] sorted = new float[HISTORY];
+
+	/** The upper edge of each bucket of the histograms but the last, in milliseconds. The last bucket has every time above the last edge. */
+	private static final float[] BUCKET_EDGES = {0.1f, 0.25f, 0.5f, 1, 2, 4, 8, FRAME_BUDGET, FRAME_BUDGET * 2};
+	/** How many of the kept frames fall into each bucket, for each phase. */
+	private final int[][] histograms = new int[PHASES.length][BUCKET_EDGES.length + 1];
+	/** How many of the kept frames' total times fall into each bucket. */
+	private final int[] frameHistogram = new int[BUCKET_EDGES.length + 1];
+
+	/**
+	 * Check if the profiler is timing.
+	 * @return If the profiler is enabled.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Start or stop timing. The current frame is thrown away either way.
+	 * @param enabled If the profiler should time.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		frameStart = 0;
+		Arrays.fill(current, 0);
+	}
+
+	/**
+	 * Start timing a phase.
+	 * @return The time to pass to {@link #stop}.
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Stop timing a phase. A phase can be timed more than once in a frame, such as when there are several physics steps, and the times are added up.
+	 * @param phase The phase.
+	 * @param startTime What {@link #start()} returned.
+	 */
+	public void stop(Phase phase, long startTime) {
+		if (enabled) {
+			current[phase.ordinal()] += System.nanoTime() - startTime;
+		}
+	}
+
+	/** Record the current frame and start the next one. This should be called once at the end of every frame. */
+	public void endFrame() {
+		if (!enabled) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		if (frameStart != 0) { // The first call only starts the first frame.
+			int slot = frames % HISTORY;
+			long total = now - frameStart;
+			long timed = 0;
+			for (int i = 0; i < PHASES.length; i++) {
+				timed += current[i];
+			}
+			current[Phase.OTHER.ordinal()] += Math.max(0, total - timed);
+
+			boolean full = frames >= HISTORY; // The frame in this slot is being replaced, so it leaves the histograms.
+			for (int i = 0; i < PHASES.length; i++) {
+				if (full) {
+					histograms[i][bucket(history[i][slot])]--;
+				}
+				history[i][slot] = current[i] / 1e6f;
+				histograms[i][bucket(history[i][slot])]++;
+			}
+			if (full) {
+				frameHistogram[bucket(frameTimes[slot])]--;
+			}
+			frameTimes[slot] = total / 1e6f;
+			frameHistogram[bucket(frameTimes[slot])]++;
+			frames++;
+		}
+
+		frameStart = now;
+		Arrays.fill(current, 0);
+	}
+
+	/**
+	 * Find the histogram bucket of a time.
+	 * @param time The time, in milliseconds.
+	 * @return The index of the bucket.
+	 */
+	private static int bucket(float time) {
+		for (int i = 0; i < BUCKET_EDGES.length; i++) {
+			if (time < BUCKET_EDGES[i]) {
+				return i;
+			}
+		}
+		return BUCKET_EDGES.length;
+	}
+
+	/**
+	 * Getter for frames.
+	 * @return How many frames have been recorded.
+	 */
+	public int getFrameCount() {
+		return frames;
+	}
+
+	/**
+	 * Get a percentile of the kept frame times.
+	 * @param times The times, indexed like {@link #frameTimes}.
+	 * @param fraction The percentile, in the range [0, 1].
+	 * @return The time, in milliseconds.
+	 */
+	private float percentile(float[] times, float fraction) {
+		int count = Math.min(frames, HISTORY);
+		if (count == 0) {
+			return 0;
+		}
+		System.arraycopy(times, 0, sorted, 0, count);
+		Arrays.sort(sorted, 0, count);
+		return sorted[Math.round(fraction * (count - 1))];
+	}
+
+	/**
+	 * Get the average of the kept frame times.
+	 * @param times The times, indexed like {@link #frameTimes}.
+	 * @return The average, in milliseconds.
+	 */
+	private float average(float[] times) {
+		int count = Math.min(frames, HISTORY);
+		float sum = 0;
+		for (int i = 0; i < count; i++) {
+			sum += times[i];
+		}
+		return count == 0 ? 0 : sum / count;
+	}
+
+	/**
+	 * Append the average, 99th percentile and maximum time of every phase and of the whole frame, over the kept frames.
+	 * @param text What to append to. One line is appended for each phase, and one for the frame.
+	 */
+	public void appendSummary(StringBuilder text) {
+		for (int i = 0; i < PHASES.length; i++) {
+			appendLine(text, PHASES[i].label, history[i]);
+		}
+		appendLine(text, "Frame", frameTimes);
+	}
+
+	/**
+	 * Append one line of the summary.
+	 * @param text What to append to.
+	 * @param label The name of the line.
+	 * @param times The times to summarize.
+	 */
+	private void appendLine(StringBuilder text, String label, float[] times) {
+		text.append('\n').append(label).append(": ");
+		Help.appendHundredths(text, average(times));
+		text.append(" avg, ");
+		Help.appendHundredths(text, percentile(times, 0.99f));
+		text.append(" p99, ");
+		Help.appendHundredths(text, percentile(times, 1));
+		text.append(" max ms");
+	}
+
+	/**
+	 * Append the histogram of every phase and of the whole frame, over the kept frames. Empty buckets are left out.
+	 * @param text What to append to. One line is appended for each phase, and one for the frame.
+	 */
+	public void appendHistograms(StringBuilder text) {
+		for (int i = 0; i < PHASES.length; i++) {
+			appendHistogram(text, PHASES[i].label, histograms[i]);
+		}
+		appendFrameHistogram(text);
+	}
+
+	/**
+	 * Append the histogram of the whole frame's time, over the kept frames. Empty buckets are left out.
+	 * @param text What to append to. One line is appended.
+	 */
+	public void appendFrameHistogram(StringBuilder text) {
+		appendHistogram(text, "Frame", frameHistogram);
+	}
+
+	/**
+	 * Append one line of histograms, as the number of frames under each bucket's upper edge, in milliseconds.
+	 * @param text What to append to.
+	 * @param label The name of the line.
+	 * @param counts The number of frames in each bucket.
+	 */
+	private void appendHistogram(StringBuilder text, String label, int[] counts) {
+		text.append('\n').append(label).append(" histogram, ms:");
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == 0) {
+				continue;
+			}
+			if (i < BUCKET_EDGES.length) {
+				text.append(" <");
+				Help.appendHundredths(text, BUCKET_EDGES[i]);
+			} else {
+				text.append(" >=");
+				Help.appendHundredths(text, BUCKET_EDGES[BUCKET_EDGES.length - 1]);
+			}
+			text.append(": ").append(counts[i]);
+		}
+	}
+
+	/**
+	 * Draw the last {@link #GRAPH_FRAMES} frames as stacked bars, with the newest on the right, and a line at the 60 FPS frame budget.
+	 * @param renderer The renderer. It must have begun drawing filled shapes.
+	 * @param x The left edge of the graph.
+	 * @param y The bottom of the graph.
+	 */
+	public void drawGraph(ShapeRenderer renderer, float x, float y) {
+		int count = Math.min(frames, GRAPH_FRAMES);
+		for (int i = 0; i < count; i++) {
+			int slot = (frames - count + i) % HISTORY;
+			float bottom = y;
+			for (int j = 0; j < PHASES.length; j++) {
+				float height = history[j][slot] * GRAPH_PIXELS_PER_MILLISECOND;
+				renderer.setColor(PHASES[j].color);
+				renderer.rect(x + i, bottom, 1, height);
+				bottom += height;
+			}
+		}
+
+		renderer.setColor(Color.RED);
+		renderer.rect(x, y + FRAME_BUDGET * GRAPH_PIXELS_PER_MILLISECOND, GRAPH_FRAMES, 1);
+	}
+
+	/**
+	 * Write the kept frames to a CSV file, oldest first. Each row has the frame's number, its total time, and the time of each phase, in milliseconds.
+	 * @param file The file to write.
+	 * @throws GdxRuntimeException If the file couldn't be written.
+	 */
+	public void writeCsv(FileHandle file) {
+		Writer writer = file.writer(false, "UTF-8");
+		try {
+			StringBuilder row = new StringBuilder();
+			row.append("frame,total");
+			for (int i = 0; i < PHASES.length; i++) {
+				row.append(',').append(PHASES[i].label);
+			}
+			row.append('\n');
+			writer.write(row.toString());
+
+			for (int frame = Math.max(0, frames - HISTORY); frame < frames; frame++) {
+				int slot = frame % HISTORY;
+				row.setLength(0);
+				row.append(frame).append(',').append(frameTimes[slot]);
+				for (int i = 0; i < PHASES.length; i++) {
+					row.append(',').append(history[i][slot]);
+				}
+				row.append('\n');
+				writer.write(row.toString());
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't write the frame times to " + file.path() + ".", e);
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+	}
+
+}
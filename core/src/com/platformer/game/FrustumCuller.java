@@ -0,0 +1,111 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Skips drawing things that are outside of the camera's view, and counts what was drawn and what was skipped.
+ * The game's camera is orthographic and never rotates, so its frustum is a box and the bounds of each drawable only need to be tested against a rectangle.
+ * @author Vincent Macri
+ */
+public class FrustumCuller {
+
+	/** The part of the world that the camera can see, in pixels. */
+	private final Rectangle view = new Rectangle();
+
+	/** The bounds of the entity being tested. This is reused for every entity. */
+	private final Rectangle bounds = new Rectangle();
+
+	/** How many things have been drawn since {@link #setView(Camera)} was called. */
+	private int drawn;
+
+	/** How many things have been skipped since {@link #setView(Camera)} was called. */
+	private int culled;
+
+	/**
+	 * Start a new frame. The view is set to the bounds of the camera's frustum, and the counts are reset.
+	 * The camera must have been updated first.
+	 * @param camera The camera.
+	 */
+	public void setView(Camera camera) {
+		Vector3[] points = camera.frustum.planePoints;
+		float left = points[0].x, right = points[0].x, bottom = points[0].y, top = points[0].y;
+		for (int i = 1; i < points.length; i++) {
+			left = Math.min(left, points[i].x);
+			right = Math.max(right, points[i].x);
+			bottom = Math.min(bottom, points[i].y);
+			top = Math.max(top, points[i].y);
+		}
+		view.set(left, bottom, right - left, top - bottom);
+
+		drawn = 0;
+		culled = 0;
+	}
+
+	/**
+	 * Check if a rectangle can be seen, and count it as drawn or culled.
+	 * @param x The x position of the bottom left corner, in pixels.
+	 * @param y The y position of the bottom left corner, in pixels.
+	 * @param width The width, in pixels.
+	 * @param height The height, in pixels.
+	 * @return True if any of the rectangle is in the view, so it should be drawn.
+	 */
+	public boolean isVisible(float x, float y, float width, float height) {
+		if (x < view.x + view.width && x + width > view.x && y < view.y + view.height && y + height > view.y) {
+			drawn++;
+			return true;
+		}
+		culled++;
+		return false;
+	}
+
+	/**
+	 * Draw an entity if it can be seen.
+	 * @param queue The render queue to add the draws to.
+	 * @param entity The entity.
+	 */
+	public void draw(RenderQueue queue, Entity entity) {
+		entity.getDrawBounds(bounds);
+		if (isVisible(bounds.x, bounds.y, bounds.width, bounds.height)) {
+			entity.draw(queue);
+		}
+	}
+
+	/**
+	 * Getter for drawn.
+	 * @return How many things have been drawn this frame.
+	 */
+	public int getDrawn() {
+		return drawn;
+	}
+
+	/**
+	 * Getter for culled.
+	 * @return How many things have been skipped this frame.
+	 */
+	public int getCulled() {
+		return culled;
+	}
+
+}
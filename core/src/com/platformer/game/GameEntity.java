@@ -23,8 +23,8 @@
  */
 package com.platformer.game;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
 
@@ -70,10 +70,19 @@ public abstract class GameEntity extends Entity {
 	}
 
 	/* (non-Javadoc)
-	 * @see com.platformer.game.Entity#draw(com.badlogic.gdx.graphics.g2d.SpriteBatch)
+	 * @see com.platformer.game.Entity#draw(com.platformer.game.RenderQueue)
 	 */
 	@Override
-	public void draw(SpriteBatch batch) {
+	public void draw(RenderQueue queue) {
+	}
+
+	@Override
+	void getDrawBounds(Rectangle bounds) {
+		if (currentPGSI != null) { // Entities drawn with a PGSI are wider than their body.
+			currentPGSI.getBounds(this, bounds);
+		} else {
+			super.getDrawBounds(bounds);
+		}
 	}
 
 	/* (non-Javadoc)
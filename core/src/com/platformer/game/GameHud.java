@@ -0,0 +1,87 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.platformer.game.StaticVars.AttackType;
+
+/**
+ * The heads up display shown over the game: the health and mana bars in the top left, and the selected attack in the top right.
+ * It fills its stage, and more rows can be added under it.
+ * @author Vincent Macri
+ */
+public class GameHud extends Table {
+
+	/** The icon that shows the selected attack type. */
+	private final Image attackIcon;
+	/** The attack icons, from the game atlas so they are drawn from the same texture as the bars. */
+	private final TextureRegionDrawable meleeIcon, magicIcon;
+
+	/** Create the heads up display. The game atlas must have been created. */
+	public GameHud() {
+		setFillParent(true);
+		top();
+
+		// The HUD's images come from the game atlas, so they share a texture with the sprites.
+		TextureRegionDrawable barBack = new TextureRegionDrawable(Platformer.barBack);
+		meleeIcon = new TextureRegionDrawable(Platformer.meleeIcon);
+		magicIcon = new TextureRegionDrawable(Platformer.magicIcon);
+
+		Table bars = new Table();
+		add(bars).top().left();
+		// Add the health bar.
+		BarManager healthBar = new BarManager(barBack, Platformer.healthBar, 100){
+			@Override
+			public void act(float delta) {
+				setBarValue(StaticVars.player.health); // Make the health bar update its value when act is called.
+			}
+		};
+
+		bars.add(healthBar).left().pad(5).prefWidth(barBack.getMinWidth());
+
+		bars.row();
+
+		// Add the mana bar.
+		BarManager manaBar =  new BarManager(barBack, Platformer.manaBar, 100){
+			@Override
+			public void act(float delta) {
+				setBarValue(StaticVars.player.mana); // Make the mana bar update its value when act is called.
+			}
+		};
+
+		bars.add(manaBar).left().padLeft(5).prefWidth(barBack.getMinWidth());
+
+		// Add the attack icon.
+		attackIcon = new Image(meleeIcon);
+		add(attackIcon).top().right().pad(5).expandX();
+	}
+
+	/**
+	 * Show which attack is selected.
+	 * @param attackType The selected attack type.
+	 */
+	public void showAttackType(AttackType attackType) {
+		attackIcon.setDrawable(attackType == AttackType.MAGIC ? magicIcon : meleeIcon);
+	}
+
+}
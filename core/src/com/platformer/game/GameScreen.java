@@ -22,38 +22,50 @@ package com.platformer.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.physics.box2d.Box2D;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
-import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
-import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.platformer.game.StaticVars.AttackType;
 
 public class GameScreen implements Screen, InputProcessor {
 
-	/** How much time has passed between the last frame and the current frame, in seconds. */
+	/** How much time the current step of the game covers, in seconds. This is set by {@link GameSimulation#step(float)}. */
 	public static float deltaTime;
 
 	/** For debugging the Box2D simulation. */
 	private Box2DDebugRenderer debugRenderer;
+	/** The camera's matrix scaled to meters, for the debug renderer. This is reused every frame. */
+	private final Matrix4 debugMatrix = new Matrix4();
 
-	/** The collision listener. Collision handling is done in the CollisionListener class. */
-	private CollisionListener collisionListener;
+	/** The gameplay simulation. */
+	private GameSimulation simulation;
+
+	/** Draws the world, skipping things that the camera can't see. */
+	private final WorldRenderer worldRenderer = new WorldRenderer();
+
+	/** The background of the level. Only the textures near the camera are loaded. */
+	private LevelBackground background;
+
+	/** How far past each side of the screen the level is loaded, in pixels. */
+	private final float LOOKAHEAD;
 
 	/** How long to wait before switching the game window after the game ends. */
 	private final float CLOSE_DELAY = 3f;
@@ -61,12 +73,13 @@ public class GameScreen implements Screen, InputProcessor {
 	/** How much time has passed since the game ended. */
 	private float timePassedSinceEnd;
 
+	/** Frame time that has not been simulated yet, in seconds. Only used in fixed timestep mode. */
+	private float accumulator;
+
 	/** The stage for the UI. */
 	private Stage stage;
-	/** The table for the UI. */
-	private Table table;
-	/** The icon that shows the selected attack type. */
-	private Image attackIcon;
+	/** The health and mana bars and the attack icon. */
+	private GameHud hud;
 	/** The world camera. */
 	private static OrthographicCamera camera;
 	/** The game's viewport. */
@@ -78,17 +91,27 @@ public class GameScreen implements Screen, InputProcessor {
 	 */
 	private InputMultiplexer multiplexer;
 
-	/** The health bar. */
-	private BarManager healthBar;
-
-	/** The mana bar. */
-	private BarManager manaBar;
-
 	/** The Platformer instance to be used. */
 	private final Platformer PLATFORMER;
 
 	/** The label that contains debug information. */
 	private Label debugLabel;
+	/** The debug label's text is built here every frame, so no strings are made. */
+	private final StringBuilder debugText = new StringBuilder();
+
+	/** Where the camera is moving towards. This is reused every frame. */
+	private final Vector3 cameraTarget = new Vector3();
+
+	/** Times the phases of each frame. It is only enabled in debug mode. */
+	private final FrameProfiler profiler = new FrameProfiler();
+	/** The profiler's summary for the debug label. It is only rebuilt every {@link #PROFILER_SUMMARY_INTERVAL} frames, so it can be read. */
+	private final StringBuilder profilerSummary = new StringBuilder();
+	/** How many frames there are between updates of the profiler's summary. */
+	private static final int PROFILER_SUMMARY_INTERVAL = 30;
+	/** Counts the GL calls, draw calls and texture binds of each draw pass. It is only enabled in debug mode. */
+	private final DrawStats drawStats = new DrawStats();
+	/** Draws the profiler's graph. Only created in debug mode. */
+	private ShapeRenderer profilerRenderer;
 
 	/**
 	 * Creates the game.
@@ -96,15 +119,16 @@ public class GameScreen implements Screen, InputProcessor {
 	 */
 	public GameScreen (final Platformer PLATFORMER) {
 		this.PLATFORMER = PLATFORMER;
+		PLATFORMER.finishLoading(); // The gameplay assets may still be loading if the player started the game quickly.
 
-		Box2D.init(); // Load Box2D library. This is also done by creating a new World, but using the init method is good practice.
-		StaticVars.world = new World(new Vector2(0, StaticVars.GRAVITY_RATE), true);
-		collisionListener = new CollisionListener();
-
-		StaticVars.world.setContactListener(collisionListener);
+		simulation = new GameSimulation();
 
 		if(PLATFORMER.settings.isDebug()){ //If we are in debug mode.
 			debugRenderer = new Box2DDebugRenderer();
+			profilerRenderer = new ShapeRenderer();
+			profiler.setEnabled(true);
+			simulation.setProfiler(profiler);
+			drawStats.enable();
 		}
 
 		camera = new OrthographicCamera();
@@ -119,7 +143,6 @@ public class GameScreen implements Screen, InputProcessor {
 
 		viewport = new ExtendViewport(1024, 1024, camera);
 
-		StaticVars.attackType = AttackType.MELEE; // Reset the attack type to melee, in case this isn't the first game, and the previous game ended in magic mode.
 		setupStage2DUI();
 
 		multiplexer = new InputMultiplexer();
@@ -128,68 +151,41 @@ public class GameScreen implements Screen, InputProcessor {
 
 		Gdx.input.setInputProcessor(multiplexer);
 		
-		Texture[] backgroundTextures = new Texture[this.PLATFORMER.NUMBER_OF_BACKGROUND_TEXTURES];
-		for (int i = 0; i < this.PLATFORMER.NUMBER_OF_BACKGROUND_TEXTURES; i++) {
-			backgroundTextures[i] = PLATFORMER.assets.get("assets/Environment/Level1/Level1_" + i + ".png", Texture.class);
-		}
-		
-		
-		StaticVars.currentLevel = new Level(backgroundTextures, "assets/Environment/Level1/Level1.pgli");
-
-		// Create the clouds.
-		for (int i = 0; i < 16; i++) {
-			StaticVars.cloudList.add(new Cloud(new Vector2((StaticVars.LEVEL_WIDTH / 16) * i, MathUtils.random(500, 1000)), PLATFORMER.assets.get("assets/Environment/Clouds/Clouds.atlas", TextureAtlas.class).findRegion("Cloud"+MathUtils.random(3))));
-		}
-
-		StaticVars.player = new Player(new Vector2(120, 500));
+		LOOKAHEAD = PLATFORMER.settings.getLevelLookahead();
+		background = new LevelBackground(PLATFORMER.assets, "assets/Environment/Level1/Level1_", Platformer.NUMBER_OF_BACKGROUND_TEXTURES);
+
+		simulation.setLookahead(LOOKAHEAD);
+		simulation.loadLevel("assets/Environment/Level1/Level1.pgli");
+		simulation.spawnClouds(Platformer.getGameAtlas()); // The clouds were copied into the game atlas.
+		simulation.spawnPlayer(new Vector2(120, 500));
+
+		// Load the part of the level that is on screen before the first frame.
+		viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		updateLoadedRange();
+		PLATFORMER.assets.finishLoading();
+	}
 
+	/** Load the chunks of the level and the background textures that are near the camera, and unload the rest. */
+	private void updateLoadedRange() {
+		float left = camera.position.x - camera.viewportWidth / 2;
+		float right = camera.position.x + camera.viewportWidth / 2;
+		simulation.setView(left, right);
+		background.setLoadedRange(left - LOOKAHEAD, right + LOOKAHEAD);
 	}
 
 	/** Setup the UI for Stage2D. */
 	private void setupStage2DUI() {
-		stage = new Stage(new ScreenViewport());
+		stage = new Stage(new ScreenViewport(), PLATFORMER.batch); // The batch has the shader for the fonts.
 
-		table = new Table();
-		table.setFillParent(true);
-		table.top();
-		stage.addActor(table);
+		hud = new GameHud();
+		stage.addActor(hud);
 
 		if (PLATFORMER.settings.isDebug()){
-			table.setDebug(true); // Enable debug lines for tables.
+			hud.setDebug(true); // Enable debug lines for tables.
 		}
 
-		// Add widgets to the table here.
-
 		// Get the skin.
 		Skin skin = this.PLATFORMER.getSkin();
-		
-		Table bars = new Table();
-		table.add(bars).top().left();
-		// Add the health bar.
-		healthBar = new BarManager(skin.getDrawable("BarBack"), this.PLATFORMER.assets.get("assets/UI/Bars/HealthBar.png", Texture.class), 100){
-			@Override
-			public void act(float delta) {
-				setBarValue(StaticVars.player.health); // Make the health bar update its value when act is called.
-			}
-		};
-
-		bars.add(healthBar).left().pad(5).prefWidth(skin.getDrawable("BarBack").getMinWidth());
-
-		bars.row();
-
-		// Add the mana bar.
-		manaBar =  new BarManager(skin.getDrawable("BarBack"), this.PLATFORMER.assets.get("assets/UI/Bars/ManaBar.png", Texture.class), 100){
-			@Override
-			public void act(float delta) {
-				setBarValue(StaticVars.player.mana); // Make the mana bar update its value when act is called.
-			}
-		};
-
-		bars.add(manaBar).left().padLeft(5).prefWidth(skin.getDrawable("BarBack").getMinWidth());
-
-		// Add the attack icon.
-		attackIcon = new Image(skin.getDrawable("Melee"));
-		table.add(attackIcon).top().right().pad(5).expandX();
 
 		// The debug label.
 		if (PLATFORMER.settings.isDebug()) {
@@ -197,14 +193,26 @@ public class GameScreen implements Screen, InputProcessor {
 			debugLabel = new Label("Debug", labelStyle){
 				@Override
 				public void act(float delta) {
-					this.setText("FPS: " + Integer.toString(Gdx.graphics.getFramesPerSecond()) + "\n"
-							+ "Position: " + StaticVars.player.body.getPosition().x * StaticVars.PIXELS_PER_METER + ", " + StaticVars.player.body.getPosition().y * StaticVars.PIXELS_PER_METER + "\n"
-							+ "Velocity: " + StaticVars.player.body.getLinearVelocity().toString());
+					Vector2 position = StaticVars.player.body.getPosition();
+					Vector2 velocity = StaticVars.player.body.getLinearVelocity();
+					debugText.setLength(0);
+					debugText.append("FPS: ").append(Gdx.graphics.getFramesPerSecond()).append('\n');
+					debugText.append("Position: ").append(Math.round(position.x * StaticVars.PIXELS_PER_METER)).append(", ").append(Math.round(position.y * StaticVars.PIXELS_PER_METER)).append('\n');
+					debugText.append("Velocity: (");
+					Help.appendHundredths(debugText, velocity.x);
+					debugText.append(", ");
+					Help.appendHundredths(debugText, velocity.y);
+					debugText.append(")\n");
+					debugText.append("Drawn: ").append(worldRenderer.getCuller().getDrawn()).append(", culled: ").append(worldRenderer.getCuller().getCulled()).append('\n');
+					debugText.append("F9 saves the frame times.");
+					drawStats.appendSummary(debugText, false);
+					debugText.append(profilerSummary);
+					this.setText(debugText); // The label copies the text, and only lays itself out again if it changed.
 					super.act(delta);
 				}
 			};
-			table.row();
-			table.add(debugLabel);
+			hud.row();
+			hud.add(debugLabel);
 		}
 	}
 
@@ -213,64 +221,114 @@ public class GameScreen implements Screen, InputProcessor {
 		Gdx.gl.glClearColor(200/255f, 225/255f, 1, 1); // Old colour was [205, 223, 255].
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-		deltaTime = Gdx.graphics.getDeltaTime(); //Get the new delta time.
+		updateLoadedRange();
+		PLATFORMER.assets.update(); // Keep loading the background textures that have come into range.
+
+		if (simulation.isRunning()){
+			// Bullets more than half a screen off of the screen can't hit anything the player can see, so they are removed.
+			simulation.setBulletBounds(camera.position.x - camera.viewportWidth, camera.position.x + camera.viewportWidth);
+			simulate(Gdx.graphics.getDeltaTime());
+		}else{
+			timePassedSinceEnd += Gdx.graphics.getDeltaTime();
+		}
 
 		//Lerp the camera into position.
-		if (StaticVars.player.body.getPosition().x * StaticVars.PIXELS_PER_METER < camera.viewportWidth / 2){ // On left half of screen.
-			camera.position.lerp(new Vector3((int)Math.max(StaticVars.player.body.getPosition().x * StaticVars.PIXELS_PER_METER, camera.viewportWidth / 2), viewport.getWorldHeight() / 2, 0), 0.01f);
+		if (StaticVars.player.renderPosition.x * StaticVars.PIXELS_PER_METER < camera.viewportWidth / 2){ // On left half of screen.
+			camera.position.lerp(cameraTarget.set((int)Math.max(StaticVars.player.renderPosition.x * StaticVars.PIXELS_PER_METER, camera.viewportWidth / 2), viewport.getWorldHeight() / 2, 0), 0.01f);
 		}else{ // On right half of screen.
-			camera.position.lerp(new Vector3((int)Math.min(StaticVars.player.body.getPosition().x * StaticVars.PIXELS_PER_METER, StaticVars.currentLevel.getWidth() - camera.viewportWidth / 2), viewport.getWorldHeight() / 2, 0), 0.01f);
+			camera.position.lerp(cameraTarget.set((int)Math.min(StaticVars.player.renderPosition.x * StaticVars.PIXELS_PER_METER, StaticVars.currentLevel.getWidth() - camera.viewportWidth / 2), viewport.getWorldHeight() / 2, 0), 0.01f);
 		}
 
 		camera.position.set((int)Math.round(camera.position.x), (int)camera.position.y, 0); // Round position to a whole number, otherwise graphical glitches can occur.
 
 		camera.update();
 
-		PLATFORMER.batch.setProjectionMatrix(camera.combined);
+		long phaseStart = profiler.start();
+		drawStats.begin();
+		worldRenderer.draw(PLATFORMER.batch, camera, background);
+		drawStats.end(FrameProfiler.Phase.WORLD_BATCH, worldRenderer.getRenderCalls());
+		profiler.stop(FrameProfiler.Phase.WORLD_BATCH, phaseStart);
 
-		PLATFORMER.batch.begin();
+		phaseStart = profiler.start();
+		drawStats.begin();
+		stage.act(); // The debug label shows this frame's world pass, and the last frame's other passes.
+		stage.draw();
+		drawStats.end(FrameProfiler.Phase.STAGE, PLATFORMER.batch); // The stage draws with the game's batch.
+		profiler.stop(FrameProfiler.Phase.STAGE, phaseStart);
 
-		for (int i = 0; i < StaticVars.cloudList.size; i++){
-			StaticVars.cloudList.get(i).draw(PLATFORMER.batch);
+		if (PLATFORMER.settings.isDebug()){
+			phaseStart = profiler.start();
+			drawStats.begin();
+			debugRenderer.render(StaticVars.world, debugMatrix.set(camera.combined).scale(StaticVars.PIXELS_PER_METER, StaticVars.PIXELS_PER_METER, 0));
+			drawStats.end(FrameProfiler.Phase.DEBUG_RENDER, null);
+			profiler.stop(FrameProfiler.Phase.DEBUG_RENDER, phaseStart);
+			drawProfiler();
+			drawStats.endFrame();
 		}
 
-		StaticVars.currentLevel.draw(PLATFORMER.batch);
-
-		StaticVars.player.draw(PLATFORMER.batch);
+		if (timePassedSinceEnd >= CLOSE_DELAY){ // If it's time to switch screens.
 
-		for (int i = 0; i < StaticVars.enemyList.size; i++) {
-			StaticVars.enemyList.get(i).draw(PLATFORMER.batch);
-		}
+			if (StaticVars.player.active){ // And the player is still alive.
+				PLATFORMER.setScreen(PLATFORMER.winScreen); // Switch to the game screen.
+			}else{
+				PLATFORMER.setScreen(PLATFORMER.loseScreen); // Switch to the main menu screen.
+			}
 
-		for (int i = 0; i < StaticVars.bulletList.size; i++) {
-			StaticVars.bulletList.get(i).draw(PLATFORMER.batch);
 		}
 
-		PLATFORMER.batch.end();
-
-		stage.act();
-		stage.draw();
+	}
 
-		if (PLATFORMER.settings.isDebug()){
-			debugRenderer.render(StaticVars.world, camera.combined.cpy().scale(StaticVars.PIXELS_PER_METER, StaticVars.PIXELS_PER_METER, 0));
+	/** Draw the profiler's graph in the bottom left corner of the screen, and finish the profiler's frame. */
+	private void drawProfiler() {
+		profilerRenderer.setProjectionMatrix(stage.getViewport().getCamera().combined); // The stage's camera is in screen pixels.
+		profilerRenderer.begin(ShapeType.Filled);
+		profiler.drawGraph(profilerRenderer, 5, 5);
+		profilerRenderer.end();
+
+		profiler.endFrame();
+		if (profiler.getFrameCount() % PROFILER_SUMMARY_INTERVAL == 0) {
+			profilerSummary.setLength(0);
+			profiler.appendSummary(profilerSummary);
+			profiler.appendFrameHistogram(profilerSummary);
 		}
+	}
 
-		if (StaticVars.player.active && StaticVars.enemyList.size > 0){
-			update();
-		}else{
-			timePassedSinceEnd += Gdx.graphics.getDeltaTime();
+	/**
+	 * Advance the game by the time that passed since the last frame.
+	 * In fixed timestep mode, as many fixed steps as fit in the accumulated time are run, up to the maximum in the settings.
+	 * Entities are then drawn between their positions at the last two steps, so movement stays smooth when the frame rate and step rate differ.
+	 * @param frameTime How much time passed since the last frame, in seconds.
+	 */
+	private void simulate(float frameTime) {
+		if (!PLATFORMER.settings.isFixedTimestep()){ // Variable timestep, one step per frame.
+			simulation.savePreviousPositions();
+			simulation.step(frameTime);
+			simulation.interpolatePositions(1);
+			return;
 		}
 
-		if (timePassedSinceEnd >= CLOSE_DELAY){ // If it's time to switch screens.
+		float stepTime = 1f / PLATFORMER.settings.getPhysicsStepRate();
+		int maxSteps = PLATFORMER.settings.getMaxPhysicsSteps();
 
-			if (StaticVars.player.active){ // And the player is still alive.
-				PLATFORMER.setScreen(PLATFORMER.winScreen); // Switch to the game screen.
-			}else{
-				PLATFORMER.setScreen(PLATFORMER.loseScreen); // Switch to the main menu screen.
+		accumulator += frameTime;
+
+		int steps = 0;
+		while (accumulator >= stepTime && steps < maxSteps){
+			simulation.savePreviousPositions();
+			simulation.step(stepTime);
+			accumulator -= stepTime;
+			steps++;
+
+			if (!simulation.isRunning()){ // The game ended during this step.
+				break;
 			}
+		}
 
+		if (accumulator >= stepTime){ // We hit the step cap. Drop the time we couldn't simulate instead of trying to catch up on later frames.
+			accumulator %= stepTime;
 		}
 
+		simulation.interpolatePositions(accumulator / stepTime);
 	}
 
 	@Override
@@ -290,48 +348,23 @@ public class GameScreen implements Screen, InputProcessor {
 	@Override
 	public void dispose() {
 		stage.dispose();
-	}
-
-	public void update(){
-		StaticVars.world.step(Gdx.graphics.getDeltaTime(), 6, 2);
-
-		StaticVars.player.update(); // Do processing for the player.
-		for (int i = 0; i < StaticVars.enemyList.size; i++) { // Do AI for the enemies.
-			StaticVars.enemyList.get(i).update();
-		}
-		for (int i = 0; i < StaticVars.bulletList.size; i++) { // Update the bullets.
-			StaticVars.bulletList.get(i).update();
-		}
-		for (int i = 0; i < StaticVars.cloudList.size; i++) { // Update the clouds.
-			StaticVars.cloudList.get(i).update();
+		if (profilerRenderer != null) {
+			profilerRenderer.dispose();
 		}
-
-
-		// Update the UI.
-		stage.act();
-
-		removeInactive();
 	}
 
-	/** Remove inactive stuff. */
-	private void removeInactive() {
-		for (int i = 0; i < StaticVars.enemyList.size; i++){
-			if (!StaticVars.enemyList.get(i).active){
-				StaticVars.world.destroyBody(StaticVars.enemyList.get(i).body);
-				StaticVars.enemyList.removeIndex(i);
-			}
-		}
+	@Override
+	public boolean keyDown(int keycode) {
 
-		for (int i = 0; i < StaticVars.bulletList.size; i++){
-			if (!StaticVars.bulletList.get(i).active){
-				StaticVars.world.destroyBody(StaticVars.bulletList.get(i).body);
-				StaticVars.bulletList.removeIndex(i);
+		if (keycode == Keys.F9 && profiler.isEnabled()) { // Save the frame times, so slow frames can be looked at later.
+			FileHandle file = Gdx.files.local("frame-times-" + TimeUtils.millis() + ".csv");
+			try {
+				profiler.writeCsv(file);
+				Gdx.app.log(Platformer.LOG_TAG, "Saved the frame times to " + file.path() + ".");
+			} catch (GdxRuntimeException e) { // Not being able to save a debug file shouldn't end the game.
+				Gdx.app.error(Platformer.LOG_TAG, "Couldn't save the frame times to " + file.path() + ".", e);
 			}
 		}
-	}
-
-	@Override
-	public boolean keyDown(int keycode) {
 
 		if (Gdx.input.isKeyJustPressed(PLATFORMER.settings.getMoveRightButton())){
 			StaticVars.player.moveRight();
@@ -367,13 +400,13 @@ public class GameScreen implements Screen, InputProcessor {
 		}
 
 		if (Gdx.input.isKeyJustPressed(PLATFORMER.settings.getMeleeButton())) { // If we pressed the switch to melee key.
-			attackIcon.setDrawable(this.PLATFORMER.getSkin().getDrawable("Melee")); // Make the UI show that we are using melee.
 			StaticVars.attackType = AttackType.MELEE; // Record the attack type in a place where any class can access it.
+			hud.showAttackType(StaticVars.attackType); // Make the UI show that we are using melee.
 		}
 
 		if (Gdx.input.isKeyJustPressed(PLATFORMER.settings.getMagicButton())) { // If we pressed the switch to magic key.
-			attackIcon.setDrawable(this.PLATFORMER.getSkin().getDrawable("Magic")); // Make the UI show that we are using melee.
 			StaticVars.attackType = AttackType.MAGIC; // Record the attack type in a place where any class can access it.
+			hud.showAttackType(StaticVars.attackType); // Make the UI show that we are using magic.
 		}
 
 		return true;
@@ -442,9 +475,15 @@ public class GameScreen implements Screen, InputProcessor {
 	public void hide() {
 		Gdx.input.setCursorCatched(false); // Make sure the cursor isn't locked when we leave the game screen.
 		stage.dispose();
-		StaticVars.bulletList.clear();
-		StaticVars.cloudList.clear();
-		StaticVars.enemyList.clear();
+		background.dispose();
+		simulation.dispose();
+		if (profilerRenderer != null) {
+			profilerRenderer.dispose();
+			profilerRenderer = null; // So dispose() doesn't dispose it again.
+		}
+		if (drawStats.isEnabled()) { // Put the original GL back for the other screens.
+			drawStats.disable();
+		}
 	}
 
 }
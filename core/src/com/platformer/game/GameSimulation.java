@@ -0,0 +1,324 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.platformer.game.FrameProfiler.Phase;
+import com.platformer.game.StaticVars.AttackType;
+
+/**
+ * The gameplay simulation. This owns the Box2D world and runs the game one step at a time.
+ * It doesn't draw anything or read any input, so it can be run without a window.
+ * @author Vincent Macri
+ */
+public class GameSimulation {
+
+	/** The number of clouds in the sky. */
+	private static final int NUMBER_OF_CLOUDS = 16;
+
+	/** The collision listener. Collision handling is done in the CollisionListener class. */
+	private final CollisionListener collisionListener;
+
+	/** Bullets outside of these bounds are removed, in meters. */
+	private final Rectangle bulletBounds = new Rectangle(0, 0, StaticVars.LEVEL_WIDTH / StaticVars.PIXELS_PER_METER, Float.MAX_VALUE);
+
+	/** How many bullets were removed for leaving the bullet bounds. */
+	private int culledBullets;
+
+	/** How far past each side of the view the level is loaded, in pixels. */
+	private float lookahead = Settings.DEFAULT_LEVEL_LOOKAHEAD;
+
+	/** The left and right edges of the part of the level that is being looked at, in pixels. */
+	private float viewLeft, viewRight;
+
+	/** Times the phases of each step. It is disabled unless another profiler is set. */
+	private FrameProfiler profiler = new FrameProfiler();
+
+	/** Runs the enemy AI, on several threads when there are a lot of enemies. */
+	private final EnemyAIRunner enemyAI = new EnemyAIRunner();
+
+	/** The enemies that can see the player. This is reused every step. */
+	private final Array<BaseEnemy> enemiesInSight = new Array<BaseEnemy>(false, 16);
+
+	/** Create a new simulation with an empty world. */
+	public GameSimulation() {
+		Box2D.init(); // Load Box2D library. This is also done by creating a new World, but using the init method is good practice.
+		StaticVars.world = new World(new Vector2(0, StaticVars.GRAVITY_RATE), true);
+		collisionListener = new CollisionListener();
+
+		StaticVars.world.setContactListener(collisionListener);
+		StaticVars.fireballPool = new FireballPool(); // The old pool's bodies belonged to the old world.
+		StaticVars.currentLevel = null; // So did the old level and player.
+		StaticVars.player = null;
+
+		StaticVars.attackType = AttackType.MELEE; // Reset the attack type to melee, in case this isn't the first game, and the previous game ended in magic mode.
+	}
+
+	/**
+	 * Load a level. The chunks around the view are loaded right away, which spawns their enemies.
+	 * @param fileName The file name of the level's .pgli file.
+	 */
+	public void loadLevel(String fileName) {
+		StaticVars.currentLevel = new Level(fileName);
+		setBulletBounds(0, StaticVars.currentLevel.getWidth());
+		updateLoadedRange();
+	}
+
+	/**
+	 * Set how far past each side of the view the level is loaded.
+	 * @param lookahead The distance, in pixels.
+	 */
+	public void setLookahead(float lookahead) {
+		this.lookahead = lookahead;
+		updateLoadedRange();
+	}
+
+	/**
+	 * Set the part of the level that is being looked at. The chunks of the level within the look-ahead of the view or the player are loaded, and the rest are unloaded.
+	 * @param left The left edge of the view, in pixels.
+	 * @param right The right edge of the view, in pixels.
+	 */
+	public void setView(float left, float right) {
+		viewLeft = left;
+		viewRight = right;
+		updateLoadedRange();
+	}
+
+	/** Load the chunks of the level around the view and the player. */
+	private void updateLoadedRange() {
+		if (StaticVars.currentLevel == null) {
+			return;
+		}
+
+		float left = viewLeft;
+		float right = viewRight;
+		if (StaticVars.player != null) { // The player always needs ground under them, even if the camera is somewhere else.
+			float playerX = StaticVars.player.body.getPosition().x * StaticVars.PIXELS_PER_METER;
+			left = Math.min(left, playerX);
+			right = Math.max(right, playerX);
+		}
+		StaticVars.currentLevel.setLoadedRange(left - lookahead, right + lookahead);
+	}
+
+	/**
+	 * Freeze the enemies whose chunk isn't loaded, so they don't fall through the missing ground, and unfreeze the ones whose chunk is loaded again.
+	 * Frozen enemies are kept instead of destroyed, so that enemies that were killed don't come back.
+	 */
+	private void freezeUnloadedEnemies() {
+		for (int i = 0; i < StaticVars.enemyList.size; i++) {
+			BaseEnemy enemy = StaticVars.enemyList.get(i);
+			boolean loaded = StaticVars.currentLevel.isLoaded(enemy.body.getPosition().x * StaticVars.PIXELS_PER_METER);
+			if (enemy.body.isActive() != loaded) {
+				enemy.body.setActive(loaded);
+			}
+		}
+	}
+
+	/**
+	 * Set how far left and right bullets can go before they are removed. Bullets that fall below the bottom of the level are always removed.
+	 * @param left The left edge, in pixels.
+	 * @param right The right edge, in pixels.
+	 */
+	public void setBulletBounds(float left, float right) {
+		bulletBounds.x = left / StaticVars.PIXELS_PER_METER;
+		bulletBounds.width = (right - left) / StaticVars.PIXELS_PER_METER;
+	}
+
+	/**
+	 * Set the profiler that times the phases of each step.
+	 * @param profiler The profiler.
+	 */
+	public void setProfiler(FrameProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	/**
+	 * Getter for culledBullets.
+	 * @return How many bullets were removed for leaving the bullet bounds.
+	 */
+	public int getCulledBullets() {
+		return culledBullets;
+	}
+
+	/**
+	 * Create the player.
+	 * @param loc Where the player starts, in pixels.
+	 */
+	public void spawnPlayer(Vector2 loc) {
+		StaticVars.player = new Player(loc);
+	}
+
+	/**
+	 * Create the clouds.
+	 * @param cloudAtlas The atlas that contains the cloud images. The game uses {@link Platformer#getGameAtlas()}, which has a copy of them.
+	 */
+	public void spawnClouds(TextureAtlas cloudAtlas) {
+		for (int i = 0; i < NUMBER_OF_CLOUDS; i++) {
+			StaticVars.cloudList.add(new Cloud(new Vector2((StaticVars.LEVEL_WIDTH / NUMBER_OF_CLOUDS) * i, MathUtils.random(500, 1000)), cloudAtlas.findRegion("Cloud" + MathUtils.random(3))));
+		}
+	}
+
+	/**
+	 * Getter for the Box2D world.
+	 * @return The world that the simulation runs in.
+	 */
+	public World getWorld() {
+		return StaticVars.world;
+	}
+
+	/**
+	 * Check if the game is still being played.
+	 * @return False once the player has died or all of the enemies have been killed, including the ones that haven't spawned yet.
+	 */
+	public boolean isRunning() {
+		return StaticVars.player.active && (StaticVars.enemyList.size > 0 || StaticVars.currentLevel.getPendingSpawns() > 0);
+	}
+
+	/**
+	 * Run one step of the game.
+	 * @param stepTime How much time the step covers, in seconds.
+	 */
+	public void step(float stepTime) {
+		GameScreen.deltaTime = stepTime;
+
+		updateLoadedRange(); // The player may have moved into a chunk that isn't loaded.
+		freezeUnloadedEnemies();
+
+		long phaseStart = profiler.start();
+		StaticVars.world.step(stepTime, 6, 2);
+		collisionListener.processEvents(); // Handle the contacts from the step, now that it's safe to change the world.
+		StaticVars.enemyGrid.update(StaticVars.enemyList); // Bodies only move during the world step, so the grid is up to date for the rest of the step.
+		profiler.stop(Phase.WORLD_STEP, phaseStart);
+
+		phaseStart = profiler.start();
+		StaticVars.player.update(); // Do processing for the player.
+		profiler.stop(Phase.PLAYER, phaseStart);
+
+		phaseStart = profiler.start();
+		enemyAI.run(StaticVars.enemyList, StaticVars.player); // Do AI for the enemies.
+		StaticVars.enemyList.updateAnimations(stepTime);
+		profiler.stop(Phase.ENEMIES, phaseStart);
+
+		phaseStart = profiler.start();
+		for (int i = 0; i < StaticVars.bulletList.size; i++) { // Update the bullets.
+			BaseBullet bullet = StaticVars.bulletList.get(i);
+			bullet.update();
+			if (bullet.active && !bulletBounds.contains(bullet.body.getPosition())) { // Don't keep bullets that can't hit anything the player can see.
+				bullet.active = false;
+				culledBullets++;
+			}
+		}
+		profiler.stop(Phase.BULLETS, phaseStart);
+
+		phaseStart = profiler.start();
+		for (int i = 0; i < StaticVars.cloudList.size; i++) { // Update the clouds.
+			StaticVars.cloudList.get(i).update();
+		}
+		profiler.stop(Phase.CLOUDS, phaseStart);
+
+		phaseStart = profiler.start();
+		checkEnemySight();
+		StaticVars.enemyList.updateHealth(); // Everything that can hurt an enemy has happened.
+		profiler.stop(Phase.ENEMIES, phaseStart);
+
+		phaseStart = profiler.start();
+		removeInactive();
+		profiler.stop(Phase.REMOVE_INACTIVE, phaseStart);
+	}
+
+	/** Let the enemies near the player see the player. */
+	private void checkEnemySight() {
+		enemiesInSight.clear();
+		StaticVars.enemyGrid.findEnemiesNear(StaticVars.player.body.getPosition(), BaseEnemy.SIGHT_RADIUS, enemiesInSight);
+		for (int i = 0; i < enemiesInSight.size; i++) {
+			enemiesInSight.get(i).seePlayer();
+		}
+	}
+
+	/** Remove inactive stuff. */
+	private void removeInactive() {
+		// Go backwards, since removing from an unordered Array moves the last item into the removed slot.
+		for (int i = StaticVars.enemyList.size - 1; i >= 0; i--){
+			if (!StaticVars.enemyList.get(i).active){
+				StaticVars.enemyGrid.remove(StaticVars.enemyList.get(i));
+				StaticVars.world.destroyBody(StaticVars.enemyList.get(i).body);
+				StaticVars.enemyList.removeIndex(i);
+			}
+		}
+
+		for (int i = StaticVars.bulletList.size - 1; i >= 0; i--){
+			if (!StaticVars.bulletList.get(i).active){
+				StaticVars.bulletList.get(i).remove();
+				StaticVars.bulletList.removeIndex(i);
+			}
+		}
+	}
+
+	/** Store the current position of every entity before a step. */
+	public void savePreviousPositions() {
+		StaticVars.player.savePreviousPosition();
+		for (int i = 0; i < StaticVars.enemyList.size; i++) {
+			StaticVars.enemyList.get(i).savePreviousPosition();
+		}
+		for (int i = 0; i < StaticVars.bulletList.size; i++) {
+			StaticVars.bulletList.get(i).savePreviousPosition();
+		}
+		for (int i = 0; i < StaticVars.cloudList.size; i++) {
+			StaticVars.cloudList.get(i).savePreviousPosition();
+		}
+	}
+
+	/**
+	 * Set the draw position of every entity.
+	 * @param alpha How far between the previous step and the current one to draw the entities, in the range [0, 1].
+	 */
+	public void interpolatePositions(float alpha) {
+		StaticVars.player.interpolate(alpha);
+		for (int i = 0; i < StaticVars.enemyList.size; i++) {
+			StaticVars.enemyList.get(i).interpolate(alpha);
+		}
+		for (int i = 0; i < StaticVars.bulletList.size; i++) {
+			StaticVars.bulletList.get(i).interpolate(alpha);
+		}
+		for (int i = 0; i < StaticVars.cloudList.size; i++) {
+			StaticVars.cloudList.get(i).interpolate(alpha);
+		}
+	}
+
+	/** Remove everything from the game and free the Box2D world. */
+	public void dispose() {
+		StaticVars.bulletList.clear();
+		StaticVars.fireballPool.clear();
+		StaticVars.cloudList.clear();
+		StaticVars.enemyList.clear();
+		StaticVars.enemyGrid.clear();
+		collisionListener.clearEvents();
+		enemyAI.dispose();
+		StaticVars.world.dispose();
+	}
+
+}
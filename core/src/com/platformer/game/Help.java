@@ -22,6 +22,7 @@ package com.platformer.game;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.StringBuilder;
 
 /**
  * This method contains static helper methods.
@@ -92,5 +93,19 @@ public class Help {
 		int framesRun = (int) (timePassed / timePerFrame);
 		return framesRun > targetFrame;
 	}
+
+	/**
+	 * Append a number with two decimal places. Appending a float would make a string.
+	 * @param builder What to append to.
+	 * @param value The number.
+	 */
+	public static void appendHundredths(StringBuilder builder, float value) {
+		int hundredths = Math.round(value * 100);
+		if (hundredths < 0) {
+			builder.append('-');
+			hundredths = -hundredths;
+		}
+		builder.append(hundredths / 100).append('.').append(hundredths % 100, 2);
+	}
 		
 }
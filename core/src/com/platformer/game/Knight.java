@@ -20,8 +20,6 @@
 
 package com.platformer.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 
 /**
@@ -35,13 +33,9 @@ public class Knight extends BaseEnemy {
 	boolean attacking;
 	/** If enemy has decided behaviour in this attack cycle. */
 	boolean attackBehaviourDecided;
-	private float animationStateTime;
 	private final int meleeAttackDistance = 80;
-
-	/** The time between attacking frames. */
-	private final float attackFrameDelay = 0.1f;
-	/** The time between non-attacking frames. */
-	private final float frameDelay = 0.15f;
+	/** How many complete actions a knight has, up to attacking to the right. Knights can't shoot fireballs. */
+	static final int ACTION_COUNT = 8;
 	
 	/**
 	 * The Knight constructor.
@@ -56,96 +50,72 @@ public class Knight extends BaseEnemy {
 	}
 
 	@Override
-	public void draw(SpriteBatch batch){
-		//System.out.println(currentPGSI + " " + currentPGSI.left + " " + currentPGSI.centre + " " + currentPGSI.right);
-		currentPGSI.draw(batch, body);
+	public void draw(RenderQueue queue){
+		getCurrentFrame().draw(queue, this);
 	}
 
 	@Override
-	public void runAI() {
-		if (Help.calcDistance(body.getPosition(), StaticVars.player.body.getPosition()) <= attackRange){ //If in melee range.
+	public void runAI(AICommands commands) {
+		if (distanceToPlayer(commands) <= attackRange){ //If in melee range.
 			if (attacking){ //If we are already attacking.
-				attack();
+				attack(commands);
 			}else{
-				attackAI();
+				attackAI(commands);
 			}
 		} else {
-			goToPlayer();
+			goToPlayer(commands);
 		}
 
 	}
 
 
-	/** Decide if we want to attack. */
-	private void attackAI() {
+	/**
+	 * Decide if we want to attack.
+	 * @param commands The AI's commands.
+	 */
+	private void attackAI(AICommands commands) {
 		/** Difference in position. */
-		int randomBase = (int) Math.abs(StaticVars.player.body.getPosition().x - body.getPosition().x);
-		if(Math.random() * randomBase < 0.1f){ //If we feel like attacking.
-			attack();
+		int randomBase = (int) Math.abs(commands.playerX - getX());
+		if(commands.random.nextFloat() * randomBase < 0.1f){ //If we feel like attacking.
+			attack(commands);
 		}else if (!attackBehaviourDecided){
-			if (Math.random() < 0.5 && (randomBase > meleeAttackDistance / 2)){ //Maybe the enemy will walk forward.
-				goToPlayer();
+			if (commands.random.nextFloat() < 0.5 && (randomBase > meleeAttackDistance / 2)){ //Maybe the enemy will walk forward.
+				goToPlayer(commands);
 			}else{ //Or walk away.
-				goAwayFromPlayer();
+				goAwayFromPlayer(commands);
 			}
 		}
 		attackBehaviourDecided = true;
 	}
 
 	@Override
-	void getFrame() {
-		animationStateTime += GameScreen.deltaTime;
-		currentAction = baseAction + direction; //Get complex action.
-
-		if(currentAction != lastAction){ //If we are performing a new action.
-			lastAction = currentAction;
-			animationStateTime = 0;
-		}
-
-		if(currentAction == 0){ //Standing left.
-			currentPGSI = Platformer.knightStandLeft;
-		}else if(currentAction == 1){ //Standing right.
-			currentPGSI = Platformer.knightStandRight;
-		}else if(currentAction == 2){ //Walking left.
-			currentPGSI = Platformer.knightWalkLeft[Help.calcFrameNumber(animationStateTime, Platformer.knightWalkLeft.length, frameDelay)];
-		}else if(currentAction == 3){ //Walking right.
-			currentPGSI = Platformer.knightWalkRight[Help.calcFrameNumber(animationStateTime, Platformer.knightWalkRight.length, frameDelay)];
-		}else if(currentAction == 4){ //Jumping left.
-			currentPGSI = Platformer.knightStandLeft;
-		}else if(currentAction == 5){ //Jumping right.
-			currentPGSI = Platformer.knightStandRight;
-		}else if(currentAction == 6){ //Attacking left.
-			currentPGSI = Platformer.knightAttackLeft[Help.calcFrameNumber(animationStateTime, Platformer.knightAttackLeft.length, attackFrameDelay)];
-		}else if(currentAction == 7){ //Attacking right.
-			currentPGSI = Platformer.knightAttackRight[Help.calcFrameNumber(animationStateTime, Platformer.knightAttackRight.length, attackFrameDelay)];
-		}else{ //Default to standing right. Since this is the most likely action, we still check it first.
-			currentPGSI = Platformer.knightStandRight;
-		}
-		 
+	AnimationTable getAnimations() {
+		return Platformer.knightAnimations; // The animation of each action is in Knight.animations.json.
 	}
 
 	/** If we are done attacking. */
 	private boolean doneAttacking(){
-		if(baseAction == 6){ //It doesn't matter if we are facing left or right, since attack is same length.
-			return Help.calcFrameNumber(animationStateTime, Platformer.knightAttackRight.length + 1, attackFrameDelay) == Platformer.knightAttackRight.length;
+		if(getBaseAction() == 6){ //It doesn't matter if we are facing left or right, since attack is same length.
+			int action = getBaseAction() + getDirection();
+			int frames = Platformer.knightAnimations.getFrameCount(action);
+			return Help.calcFrameNumber(getAnimationTime(), frames + 1, Platformer.knightAnimations.getFrameDuration(action)) == frames;
 		}else{
 			return false;
 		}
 	}
 
 	@Override
-	public void attack() {
+	public void attack(AICommands commands) {
 		if (doneAttacking()){
 			attacking = false;
-			baseAction = 0;
+			setBaseAction(0);
 			attackBehaviourDecided = false;
 		}else{
 			attacking = true;
-			baseAction = 6;
-			direction = setDirection();
-			body.setLinearVelocity(0, body.getLinearVelocity().y);
+			setAction(6, setDirection(commands));
+			commands.setXVelocity(storeIndex, 0);
 			
-			StaticVars.player.takeDamage(attackDamage * Gdx.graphics.getDeltaTime());
+			commands.damagePlayer(attackDamage * GameScreen.deltaTime);
 			
 		}
 	}
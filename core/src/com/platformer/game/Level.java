@@ -20,63 +20,78 @@
 
 package com.platformer.game;
 
-import java.util.InputMismatchException;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
-
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.Texture.TextureFilter;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.ChainShape;
 import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Shape;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
-import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.platformer.game.BodyData.BodyDataType;
 
 /**
  * This class creates levels by reading the data from a file.
+ * The level is split into chunks of {@link #CHUNK_WIDTH} pixels. Only the chunks near the camera have fixtures, which are created and destroyed by {@link #setLoadedRange(float, float)}.
  * @author Vincent Macri
  */
 public class Level {
 
+	/** The width of a chunk of the level, in pixels. This is also the width of each background texture. */
+	public static final int CHUNK_WIDTH = 1024;
+
 	/** The width of the level. */
 	private final int LEVEL_WIDTH;
 
-	/** The background textures. */
-	Texture[] background;
+	/** The chunks of the level, from left to right. */
+	private final Array<LevelChunk> chunks = new Array<LevelChunk>();
+
+	/** The first and last chunk that are loaded. The last chunk is before the first chunk when no chunks are loaded. */
+	private int firstLoadedChunk = 0, lastLoadedChunk = -1;
 
-	/** This body holds all of the vertical ground fixtures. */
-	Body walls;
+	/** How many knights are in chunks that haven't been loaded yet. */
+	private int pendingSpawns;
 
-	/** This body holds all of the horizontal ground fixtures. */
+	/** This body holds the ground and the walls. Each continuous part of the ground in a chunk is one ChainShape, and the type of each edge is stored in its fixture's user data. */
 	Body ground;
 
+	/** The vertices of the chain being read, in pixels. Every two values are the x and y position of a vertex. */
+	private final IntArray chainVertices = new IntArray();
+
+	/** The type of each edge of the chain being read. */
+	private final Array<BodyDataType> chainTypes = new Array<BodyDataType>();
+
 	/** This body holds all of the floating platforms. */
 	Body platforms;
 
 	/**
+	 * Read a level. No chunks are loaded until {@link #setLoadedRange(float, float)} is called.
 	 * @author Vincent Macri
-	 * @param backgroundImages The textures of the background.
 	 * @param fileName The file name to get position data from.
 	 */
-	public Level(Texture[] backgroundImages, String fileName){
-		background = backgroundImages;
+	public Level(String fileName){
+		LevelData data = LevelData.load(fileName);
 
-		setupBodies();
-		readLevel(fileName);
-		for (int i = 0; i < background.length; i++) {
-			background[i].setFilter(TextureFilter.Linear, TextureFilter.Linear); // Prevent background tearing.			
+		// The level ends at the chunk that has the last of the ground or the platforms.
+		int maxX = 0;
+		for (int i = 0; i < data.ground.length; i += 3) {
+			maxX = Math.max(maxX, Math.max(data.ground[i], data.ground[i + 1]));
+		}
+		for (int i = 0; i < data.platforms.length; i += 3) {
+			maxX = Math.max(maxX, Math.max(data.platforms[i], data.platforms[i + 1]));
 		}
-		
-		int width = 0;
-		for (int i = 0; i < background.length; i++) {
-			width += background[i].getWidth();
+		int numberOfChunks = maxX / CHUNK_WIDTH + 1;
+		LEVEL_WIDTH = numberOfChunks * CHUNK_WIDTH;
+		for (int i = 0; i < numberOfChunks; i++) {
+			chunks.add(new LevelChunk());
 		}
-		LEVEL_WIDTH = width;
+
+		setupBodies();
+		readLevel(data);
 	}
 
 	/**
@@ -87,59 +102,175 @@ public class Level {
 		groundDef.type = BodyType.StaticBody; // Set its type to static.
 		groundDef.position.set(0, 0);
 
-		walls = StaticVars.world.createBody(groundDef);
-		walls.setUserData(new BodyData(BodyDataType.WALL));
-
 		ground = StaticVars.world.createBody(groundDef);
-		ground.setUserData(new BodyData(BodyDataType.GROUND));
+		ground.setUserData(new ChainBodyData(BodyDataType.GROUND));
 
 		platforms = StaticVars.world.createBody(groundDef);
 		platforms.setUserData(new BodyData(BodyDataType.PLATFORM));
 	}
 
-	private void createHorizontalBody(int xStart, int xEnd, int yPos){
+	/**
+	 * Add one step of the ground to the chain being read. This is a wall at xStart from lastYPos to yPos, followed by the ground from xStart to xEnd at yPos.
+	 * If the step doesn't start where the last one ended, the chain is finished and a new one is started.
+	 * @param xStart The x position of the wall and the start of the ground.
+	 * @param xEnd The x position of the end of the ground.
+	 * @param yPos The height of the ground.
+	 * @param lastYPos The height of the ground before this step.
+	 */
+	private void createGroundBody(int xStart, int xEnd, int yPos, int lastYPos) {
+		if (chainVertices.size > 0 && chainVertices.get(chainVertices.size - 2) != xStart) { // If there is a gap in the ground.
+			finishChain();
+		}
+		if (chainVertices.size == 0) { // Start a new chain at the bottom of the wall.
+			chainVertices.add(xStart);
+			chainVertices.add(lastYPos);
+		}
 
-		EdgeShape edge = new EdgeShape(); // Create an edge shape.
-		// Set its shape.
-		edge.set(xStart / StaticVars.PIXELS_PER_METER, yPos / StaticVars.PIXELS_PER_METER,
-				xEnd / StaticVars.PIXELS_PER_METER, yPos / StaticVars.PIXELS_PER_METER);
+		addChainVertex(xStart, yPos, BodyDataType.WALL);
+		addChainVertex(xEnd, yPos, BodyDataType.GROUND);
+	}
 
-		// Create a fixture for the walls body.
-		ground.createFixture(createLevelFixture(edge));
+	/**
+	 * Add an edge to the chain being read, from the last vertex to a new one.
+	 * Edges with no length are skipped, and an edge that continues the last edge in the same direction is merged into it, so the chain has as few edges as possible.
+	 * @param x The x position of the new vertex.
+	 * @param y The y position of the new vertex.
+	 * @param type The type of the new edge.
+	 */
+	private void addChainVertex(int x, int y, BodyDataType type) {
+		int lastX = chainVertices.get(chainVertices.size - 2);
+		int lastY = chainVertices.get(chainVertices.size - 1);
+		if (x == lastX && y == lastY) { // Skip edges with no length.
+			return;
+		}
 
-		// Dispose of the edge so there is no memory leak.
-		edge.dispose();
+		if (chainTypes.size > 0) {
+			int previousX = chainVertices.get(chainVertices.size - 4);
+			int previousY = chainVertices.get(chainVertices.size - 3);
+
+			// The new edge continues the last one if they are parallel and point the same way.
+			long cross = (long)(lastX - previousX) * (y - lastY) - (long)(lastY - previousY) * (x - lastX);
+			long dot = (long)(lastX - previousX) * (x - lastX) + (long)(lastY - previousY) * (y - lastY);
+			if (cross == 0 && dot > 0 && chainTypes.peek() == type) {
+				chainVertices.set(chainVertices.size - 2, x);
+				chainVertices.set(chainVertices.size - 1, y);
+				return;
+			}
+		}
+
+		chainVertices.add(x);
+		chainVertices.add(y);
+		chainTypes.add(type);
+	}
+
+	/** Split the chain that has been read between the chunks it passes through, then start a new one. */
+	private void finishChain() {
+		if (chainTypes.size > 0) { // Only keep the chain if it has at least one edge.
+			splitChain();
+
+			// Each run of edges in the same chunk becomes one chain of that chunk.
+			int firstEdge = 0;
+			for (int i = 1; i <= chainTypes.size; i++) {
+				if (i == chainTypes.size || getEdgeChunk(i) != getEdgeChunk(firstEdge)) {
+					chunks.get(getEdgeChunk(firstEdge)).chains.add(createChain(firstEdge, i));
+					firstEdge = i;
+				}
+			}
+		}
+
+		chainVertices.clear();
+		chainTypes.clear();
+	}
+
+	/** Split the edges of the chain being read where they cross from one chunk to the next, so that every edge is in one chunk. */
+	private void splitChain() {
+		IntArray vertices = new IntArray(chainVertices.size);
+		Array<BodyDataType> types = new Array<BodyDataType>(chainTypes.size);
+		vertices.add(chainVertices.get(0));
+		vertices.add(chainVertices.get(1));
+
+		for (int i = 0; i < chainTypes.size; i++) {
+			int xStart = chainVertices.get(i * 2);
+			int yStart = chainVertices.get(i * 2 + 1);
+			int xEnd = chainVertices.get(i * 2 + 2);
+			int yEnd = chainVertices.get(i * 2 + 3);
+
+			if (yStart == yEnd) { // Walls are vertical, so only the ground can cross a chunk edge.
+				if (xEnd > xStart) {
+					for (int x = (MathUtils.floor((float)xStart / CHUNK_WIDTH) + 1) * CHUNK_WIDTH; x < xEnd; x += CHUNK_WIDTH) {
+						vertices.add(x);
+						vertices.add(yStart);
+						types.add(chainTypes.get(i));
+					}
+				} else {
+					for (int x = (MathUtils.ceil((float)xStart / CHUNK_WIDTH) - 1) * CHUNK_WIDTH; x > xEnd; x -= CHUNK_WIDTH) {
+						vertices.add(x);
+						vertices.add(yStart);
+						types.add(chainTypes.get(i));
+					}
+				}
+			}
+
+			vertices.add(xEnd);
+			vertices.add(yEnd);
+			types.add(chainTypes.get(i));
+		}
+
+		chainVertices.clear();
+		chainVertices.addAll(vertices);
+		chainTypes.clear();
+		chainTypes.addAll(types);
 	}
 
 	/**
-	 * Create a new vertical edge shape for the walls. This method creates a line segment AB A(xPos, yPos), B(xPos, lastYPos).
-	 * Neither yPos or lastYPos has to be less than, greater than, or equal to the other.
-	 * All that happens is a line segment is created from A to B.
-	 * The line segment is an edge shape that is attached to a static Box2D body.
-	 * @param xPos The x position of this wall.
-	 * @param yPos The first y position of the wall.
-	 * @param lastYPos The second y position of the wall.
+	 * Get the chunk that an edge of the chain being read is in.
+	 * @param edge The index of the edge.
+	 * @return The index of the chunk that has the middle of the edge.
 	 */
-	private void createVerticalLine(int xPos, int yPos, int lastYPos) {
-		EdgeShape edge = new EdgeShape(); // Create an edge shape.
-		// Set its shape.
-		edge.set(xPos / StaticVars.PIXELS_PER_METER, yPos / StaticVars.PIXELS_PER_METER,
-				xPos / StaticVars.PIXELS_PER_METER, lastYPos / StaticVars.PIXELS_PER_METER);
+	private int getEdgeChunk(int edge) {
+		return getChunkIndex((chainVertices.get(edge * 2) + chainVertices.get(edge * 2 + 2)) / 2f);
+	}
 
-		// Create a fixture for the walls body.
-		walls.createFixture(createLevelFixture(edge));
+	/**
+	 * Copy some of the edges of the chain being read into a chain for a chunk.
+	 * @param firstEdge The index of the first edge to copy.
+	 * @param endEdge The index after the last edge to copy.
+	 * @return The new chain.
+	 */
+	private LevelChunk.Chain createChain(int firstEdge, int endEdge) {
+		float[] vertices = new float[(endEdge - firstEdge + 1) * 2];
+		for (int i = 0; i < vertices.length; i++) {
+			vertices[i] = chainVertices.get(firstEdge * 2 + i) / StaticVars.PIXELS_PER_METER;
+		}
 
-		// Dispose of the edge so there is no memory leak.
-		edge.dispose();
+		// Each edge gets its own body data, so the CollisionListener can tell walls from the ground.
+		LevelSegment[] segments = new LevelSegment[endEdge - firstEdge];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new LevelSegment(chainTypes.get(firstEdge + i), Math.max(vertices[i * 2 + 1], vertices[i * 2 + 3]));
+		}
+
+		LevelChunk.Chain chain = new LevelChunk.Chain(vertices, segments);
+		if (firstEdge > 0) { // The ground continues into the chunk to the left.
+			chain.hasPreviousVertex = true;
+			chain.previousX = chainVertices.get(firstEdge * 2 - 2) / StaticVars.PIXELS_PER_METER;
+			chain.previousY = chainVertices.get(firstEdge * 2 - 1) / StaticVars.PIXELS_PER_METER;
+		}
+		if (endEdge < chainTypes.size) { // The ground continues into the chunk to the right.
+			chain.hasNextVertex = true;
+			chain.nextX = chainVertices.get(endEdge * 2 + 2) / StaticVars.PIXELS_PER_METER;
+			chain.nextY = chainVertices.get(endEdge * 2 + 3) / StaticVars.PIXELS_PER_METER;
+		}
+		return chain;
 	}
 
-	/** 
+	/**
 	 * Create a new platform from (xStart, yPos) to (xEnd, yPos).
 	 * @param xStart The starting x of this platform.
 	 * @param xEnd The ending x of this platform.
 	 * @param yPos The y position of this platform.
+	 * @return The platform's fixture.
 	 */
-	private void createPlatform(int xStart, int xEnd, int yPos) {
+	private Fixture createPlatform(int xStart, int xEnd, int yPos) {
 		EdgeShape edge = new EdgeShape(); // Create an edge shape.
 		// Set its shape.
 		edge.set(xStart / StaticVars.PIXELS_PER_METER, yPos / StaticVars.PIXELS_PER_METER,
@@ -148,223 +279,175 @@ public class Level {
 		// Create a fixture for the walls body.
 		FixtureDef fixture = createLevelFixture(edge);
 		fixture.filter.categoryBits = StaticVars.PLATFORM_MASK; // I am a platform.
-		platforms.createFixture(fixture);
+		Fixture platform = platforms.createFixture(fixture);
 
 		// Dispose of the edge so there is no memory leak.
 		edge.dispose();
+		return platform;
 	}
 
 	/**
-	 * Create a Fixture from the given EdgeShape. Sets friction and density. Sets bitmask to WORLD_MASK.
-	 * @param edge The EdgeShape to create the fixture from.
+	 * Create a Fixture from the given Shape. Sets friction and density. Sets bitmask to WORLD_MASK.
+	 * @param shape The Shape to create the fixture from.
 	 * @return The fixture.
 	 */
-	private FixtureDef createLevelFixture(EdgeShape edge){
+	private FixtureDef createLevelFixture(Shape shape){
 		FixtureDef fixture = new FixtureDef();
 		fixture.friction = 0;
 		fixture.density = 0;
-		fixture.shape = edge;
+		fixture.shape = shape;
 		fixture.filter.categoryBits = StaticVars.WORLD_MASK; // I am a world entity.
 		fixture.filter.maskBits = StaticVars.ENEMY_MASK | StaticVars.PLAYER_MASK | StaticVars.BULLET_MASK; // I collide with enemies, players, or bullets.
 		return fixture;
 	}
 
-	private void createGroundBody(int xStart, int xEnd, int yPos, int lastYPos) {
+	/**
+	 * Sort the ground, the platforms and the knights of a level file into the chunks.
+	 * @param data The level file.
+	 */
+	private void readLevel(LevelData data) {
+		int lastYPos = 0;
+		for (int i = 0; i < data.ground.length; i += 3) {
+			createGroundBody(data.ground[i], data.ground[i + 1], data.ground[i + 2], lastYPos);
+			lastYPos = data.ground[i + 2];
+		}
+		finishChain();
 
-		createHorizontalBody(xStart, xEnd, yPos);
-		createVerticalLine(xStart, yPos, lastYPos);
+		for (int i = 0; i < data.platforms.length; i += 3) { // A platform goes in the chunk that has its middle.
+			IntArray chunkPlatforms = chunks.get(getChunkIndex((data.platforms[i] + data.platforms[i + 1]) / 2f)).platforms;
+			chunkPlatforms.add(data.platforms[i]);
+			chunkPlatforms.add(data.platforms[i + 1]);
+			chunkPlatforms.add(data.platforms[i + 2]);
+		}
 
+		for (int i = 0; i < data.knights.length; i++) {
+			chunks.get(getChunkIndex(data.knights[i])).knights.add(data.knights[i]);
+		}
+		pendingSpawns = data.knights.length;
 	}
 
-	/** Read from the input file to figure out where the platforms are. */
-	void readLevel (String fileName){
-		Scanner s = null;
-		String inputType;
-		int xStart, xEnd, yPos, lastYPos;
-
-		try {
-			s = new Scanner(Gdx.files.internal(fileName).read());
-		} catch (GdxRuntimeException e) {
-			e.printStackTrace();
-			s.close();
-			return;
-		}catch(NullPointerException f){
-			f.printStackTrace();
-			s.close();
-			return;
-		} catch (Exception t){
-			t.printStackTrace();
-			s.close();
+	/**
+	 * Get the chunk that an x position is in. Positions outside of the level are in the first or last chunk.
+	 * @param x The x position, in pixels.
+	 * @return The index of the chunk.
+	 */
+	private int getChunkIndex(float x) {
+		return MathUtils.clamp(MathUtils.floor(x / CHUNK_WIDTH), 0, chunks.size - 1);
+	}
+
+	/**
+	 * Load the chunks that overlap a range of x positions and unload all of the others.
+	 * The knights in a chunk are spawned the first time the chunk is loaded.
+	 * @param left The left edge of the range, in pixels.
+	 * @param right The right edge of the range, in pixels.
+	 */
+	public void setLoadedRange(float left, float right) {
+		int first = getChunkIndex(left);
+		int last = getChunkIndex(right);
+		if (first == firstLoadedChunk && last == lastLoadedChunk) {
 			return;
 		}
 
-		inputType = s.next();
-
-		if (inputType.equals("[SOG]")){
-
-			xStart = 0;
-			xEnd = 0;
-			yPos = 0;
-			lastYPos = 0;
-
-			while (s.hasNextInt()){
-
-				try{
-					xStart = s.nextInt();
-					xEnd = s.nextInt();
-					yPos = s.nextInt();
-
-					createGroundBody(xStart, xEnd, yPos, lastYPos);
-
-					lastYPos = yPos;
-
-				}catch(InputMismatchException e){
-					System.out.println("Error occured while reading ground input.");
-					System.out.println("InputMismatchException - the next token does not match the Integer regular expression, or is out of range.");
-					e.printStackTrace();
-					s.close();
-					return;
-				}catch(NoSuchElementException f){
-					System.out.println("Error occured while reading ground input.");
-					System.out.println("NoSuchElementException - input is exhausted.");
-					f.printStackTrace();
-					s.close();
-					return;
-				}catch(IllegalStateException g){
-					System.out.println("Error occured while reading ground input.");
-					System.out.println("IllegalStateException - this scanner is closed.");
-					g.printStackTrace();
-					s.close();
-					return;
-				}catch(Exception h){
-					System.out.println("Error occured while reading ground input.");
-					h.printStackTrace();
-					s.close();
-					return;
-				}
-
+		// Only the chunks that were or will be loaded can change.
+		int start = lastLoadedChunk < firstLoadedChunk ? first : Math.min(first, firstLoadedChunk);
+		int end = lastLoadedChunk < firstLoadedChunk ? last : Math.max(last, lastLoadedChunk);
+		for (int i = start; i <= end; i++) {
+			LevelChunk chunk = chunks.get(i);
+			boolean inRange = i >= first && i <= last;
+			if (inRange && !chunk.loaded) {
+				loadChunk(chunk);
+			} else if (!inRange && chunk.loaded) {
+				unloadChunk(chunk);
 			}
+		}
 
-			inputType = s.next();
-			if (!inputType.equals("[EOG]")){
-				System.out.println("Bad PGLI format. " + inputType + " is not [EOG].");
-				s.close();
-				return;
+		firstLoadedChunk = first;
+		lastLoadedChunk = last;
+	}
+
+	/**
+	 * Create the fixtures of a chunk, and spawn its knights if they haven't been spawned yet.
+	 * @param chunk The chunk.
+	 */
+	private void loadChunk(LevelChunk chunk) {
+		for (int i = 0; i < chunk.chains.size; i++) {
+			LevelChunk.Chain chain = chunk.chains.get(i);
+			ChainShape shape = new ChainShape();
+			shape.createChain(chain.vertices);
+			if (chain.hasPreviousVertex) {
+				shape.setPrevVertex(chain.previousX, chain.previousY);
+			}
+			if (chain.hasNextVertex) {
+				shape.setNextVertex(chain.nextX, chain.nextY);
 			}
 
-		}else{
-			System.out.println("Bad PGLI format. Improper [SOG].");
-			s.close();
-			return;
-		}
+			Fixture fixture = ground.createFixture(createLevelFixture(shape));
+			fixture.setUserData(chain.segments);
+			chunk.fixtures.add(fixture);
 
-		if (!s.hasNext()){
-			s.close();
-			return;
+			// Dispose of the chain so there is no memory leak.
+			shape.dispose();
 		}
 
-		inputType = s.next();
-		if (!inputType.equals("[SOP]")){
-			System.out.println("Bad PGLI format. Improper [SOP].");
-			s.close();
-			return;
+		for (int i = 0; i < chunk.platforms.size; i += 3) {
+			chunk.fixtures.add(createPlatform(chunk.platforms.get(i), chunk.platforms.get(i + 1), chunk.platforms.get(i + 2)));
 		}
 
-		while (s.hasNextInt()){
-			try{
-				xStart = s.nextInt();
-				xEnd = s.nextInt();
-				yPos = s.nextInt();
-
-				createPlatform(xStart, xEnd, yPos);
-
-			}catch(InputMismatchException e){
-				System.out.println("Error occured while reading air input.");
-				System.out.println("InputMismatchException - the next token does not match the Integer regular expression, or is out of range.");
-				e.printStackTrace();
-				s.close();
-				return;
-			}catch(NoSuchElementException f){
-				System.out.println("Error occured while reading air input.");
-				System.out.println("NoSuchElementException - input is exhausted.");
-				f.printStackTrace();
-				s.close();
-				return;
-			}catch(IllegalStateException g){
-				System.out.println("Error occured while reading air input.");
-				System.out.println("IllegalStateException - this scanner is closed.");
-				g.printStackTrace();
-				s.close();
-				return;
-			}catch(Exception h){
-				System.out.println("Error occured while reading air input.");
-				h.printStackTrace();
-				s.close();
-				return;
+		if (!chunk.spawned) {
+			for (int i = 0; i < chunk.knights.size; i++) {
+				StaticVars.enemyList.add(new Knight(new Vector2(chunk.knights.get(i), 1024)));
 			}
+			pendingSpawns -= chunk.knights.size;
+			chunk.spawned = true;
 		}
 
-		inputType = s.next();
-		if (!inputType.equals("[EOP]")){
-			System.out.println("Bad PGLI format. " + inputType + " is not [EOP].");
-			s.close();
-			return;
-		}
-
-		inputType = s.next();
+		chunk.loaded = true;
+	}
 
-		if (!inputType.equals("[SOK]")){
-			System.out.println("Bad PGLI format. " + inputType + " is not [SOK].");
-			s.close();
-			return;
+	/**
+	 * Destroy the fixtures of a chunk.
+	 * @param chunk The chunk.
+	 */
+	private void unloadChunk(LevelChunk chunk) {
+		for (int i = 0; i < chunk.fixtures.size; i++) {
+			Fixture fixture = chunk.fixtures.get(i);
+			fixture.getBody().destroyFixture(fixture);
 		}
+		chunk.fixtures.clear();
+		chunk.loaded = false;
+	}
 
-		while (s.hasNextInt()){
-			try{
-				xStart = s.nextInt();
-
-				StaticVars.enemyList.add(new Knight(new Vector2(xStart, 1024)));
-
-			}catch(InputMismatchException e){
-				System.out.println("Error occured while reading enemy input.");
-				System.out.println("InputMismatchException - the next token does not match the Integer regular expression, or is out of range.");
-				e.printStackTrace();
-				s.close();
-				return;
-			}catch(NoSuchElementException f){
-				System.out.println("Error occured while reading enemy input.");
-				System.out.println("NoSuchElementException - input is exhausted.");
-				f.printStackTrace();
-				s.close();
-				return;
-			}catch(IllegalStateException g){
-				System.out.println("Error occured while reading enemy input.");
-				System.out.println("IllegalStateException - this scanner is closed.");
-				g.printStackTrace();
-				s.close();
-				return;
-			}catch(Exception h){
-				System.out.println("Error occured while reading enemy input.");
-				h.printStackTrace();
-				s.close();
-				return;
-			}
-		}
+	/**
+	 * Check if the chunk at an x position is loaded.
+	 * @param x The x position, in pixels.
+	 * @return True if the chunk's fixtures exist.
+	 */
+	public boolean isLoaded(float x) {
+		return chunks.get(getChunkIndex(x)).loaded;
+	}
 
-		s.close();
+	/**
+	 * Get the number of chunks that are loaded.
+	 * @return How many chunks have fixtures.
+	 */
+	public int getLoadedChunkCount() {
+		return lastLoadedChunk < firstLoadedChunk ? 0 : lastLoadedChunk - firstLoadedChunk + 1;
+	}
 
+	/**
+	 * Get the number of chunks in the level.
+	 * @return The number of chunks.
+	 */
+	public int getChunkCount() {
+		return chunks.size;
 	}
 
 	/**
-	 * Draw the level.
-	 * @param batch The SpriteBatch to draw with.
+	 * Get the number of knights that haven't been spawned yet, because their chunk hasn't been loaded.
+	 * @return The number of knights waiting to spawn.
 	 */
-	public void draw(SpriteBatch batch) {
-		int xPos = 0;
-		for (int i = 0; i < background.length; i++) {
-			batch.draw(background[i], xPos, 0);
-			xPos += background[i].getWidth();
-		}
+	public int getPendingSpawns() {
+		return pendingSpawns;
 	}
 
 	/**
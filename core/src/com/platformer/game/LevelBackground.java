@@ -0,0 +1,185 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureLoader.TextureParameter;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * The background of a level. There is one texture for each chunk of the level, and only the textures near the camera are kept loaded.
+ * Textures are loaded in the background by the AssetManager, so {@link AssetManager#update()} must be called every frame.
+ * The background never moves, so each texture's vertices are put in a SpriteCache once it loads, instead of being sent through a SpriteBatch every frame.
+ * @author Vincent Macri
+ */
+public class LevelBackground {
+
+	/** The AssetManager that loads the textures. */
+	private final AssetManager assets;
+
+	/** The file name of each texture, from left to right. */
+	private final String[] fileNames;
+
+	/** Whether each texture has been queued for loading and not unloaded since. */
+	private final boolean[] requested;
+
+	/** How the textures are loaded. */
+	private final TextureParameter parameter = new TextureParameter();
+
+	/** Holds the vertices of every texture that has been loaded. It has room for one sprite for each texture. */
+	private final SpriteCache cache;
+
+	/** The cache ID of each texture's sprite, or -1 if it hasn't been cached yet. A texture's cache is redefined if it is loaded again. */
+	private final int[] cacheIds;
+
+	/** The texture that each cache was made with. A texture that is unloaded and loaded again is a new Texture, so its cache has to be redefined. */
+	private final Texture[] cachedTextures;
+
+	/**
+	 * Create a background. No textures are loaded until {@link #setLoadedRange(float, float)} is called.
+	 * @param assets The AssetManager that loads the textures.
+	 * @param fileNamePrefix The file name of the textures, without the texture number and ".png".
+	 * @param numberOfTextures The number of textures.
+	 */
+	public LevelBackground(AssetManager assets, String fileNamePrefix, int numberOfTextures) {
+		this.assets = assets;
+		fileNames = new String[numberOfTextures];
+		for (int i = 0; i < numberOfTextures; i++) {
+			fileNames[i] = fileNamePrefix + i + ".png";
+		}
+		requested = new boolean[numberOfTextures];
+
+		cache = new SpriteCache(numberOfTextures, false);
+		cacheIds = new int[numberOfTextures];
+		for (int i = 0; i < numberOfTextures; i++) {
+			cacheIds[i] = -1;
+		}
+		cachedTextures = new Texture[numberOfTextures];
+
+		parameter.minFilter = TextureFilter.Linear; // Prevent background tearing.
+		parameter.magFilter = TextureFilter.Linear;
+	}
+
+	/**
+	 * Queue the textures that overlap a range of x positions for loading and unload all of the others.
+	 * @param left The left edge of the range, in pixels.
+	 * @param right The right edge of the range, in pixels.
+	 */
+	public void setLoadedRange(float left, float right) {
+		int first = MathUtils.floor(left / Level.CHUNK_WIDTH);
+		int last = MathUtils.floor(right / Level.CHUNK_WIDTH);
+		for (int i = 0; i < fileNames.length; i++) {
+			boolean inRange = i >= first && i <= last;
+			if (inRange && !requested[i]) {
+				assets.load(fileNames[i], Texture.class, parameter);
+				requested[i] = true;
+			} else if (!inRange && requested[i]) {
+				assets.unload(fileNames[i]);
+				requested[i] = false;
+			}
+		}
+	}
+
+	/**
+	 * Draw the textures that have finished loading and can be seen.
+	 * This draws with the background's own SpriteCache, so no batch can be drawing.
+	 * @param camera The camera. It must have been updated.
+	 * @param culler Decides which textures can be seen.
+	 * @return The number of draw calls that were made.
+	 */
+	public int draw(Camera camera, FrustumCuller culler) {
+		boolean drawing = false;
+		int drawCalls = 0;
+		for (int i = 0; i < fileNames.length; i++) {
+			if (requested[i] && assets.isLoaded(fileNames[i])) {
+				Texture texture = assets.get(fileNames[i], Texture.class);
+				if (culler.isVisible(i * Level.CHUNK_WIDTH, 0, texture.getWidth(), texture.getHeight())) {
+					if (cachedTextures[i] != texture) { // Caches can't be changed while the cache is drawing.
+						if (drawing) {
+							cache.end();
+							drawing = false;
+						}
+						cacheTexture(i, texture);
+					}
+
+					if (!drawing) {
+						begin(camera);
+						drawing = true;
+					}
+					cache.draw(cacheIds[i]);
+					drawCalls++; // Each cache only has one texture.
+				}
+			}
+		}
+
+		if (drawing) {
+			cache.end();
+			Gdx.gl.glDisable(GL20.GL_BLEND);
+		}
+		return drawCalls;
+	}
+
+	/**
+	 * Start drawing the cache. Unlike a SpriteBatch, a SpriteCache doesn't turn on blending itself.
+	 * @param camera The camera.
+	 */
+	private void begin(Camera camera) {
+		Gdx.gl.glEnable(GL20.GL_BLEND);
+		Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		cache.setProjectionMatrix(camera.combined);
+		cache.begin();
+	}
+
+	/**
+	 * Put the sprite of a texture in the cache. The sprite's old cache is reused if it has one.
+	 * @param index The number of the texture.
+	 * @param texture The texture.
+	 */
+	private void cacheTexture(int index, Texture texture) {
+		if (cacheIds[index] == -1) {
+			cache.beginCache();
+		} else {
+			cache.beginCache(cacheIds[index]);
+		}
+		cache.add(texture, index * Level.CHUNK_WIDTH, 0);
+		cacheIds[index] = cache.endCache();
+		cachedTextures[index] = texture;
+	}
+
+	/** Unload all of the textures and free the cache. */
+	public void dispose() {
+		for (int i = 0; i < fileNames.length; i++) {
+			if (requested[i]) {
+				assets.unload(fileNames[i]);
+				requested[i] = false;
+			}
+			cachedTextures[i] = null;
+		}
+		cache.dispose();
+	}
+
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * One part of a level, {@link Level#CHUNK_WIDTH} pixels wide.
+ * The chunk always keeps what it needs to build itself, but its fixtures only exist while it is near the camera.
+ * @author Vincent Macri
+ */
+class LevelChunk {
+
+	/** A continuous part of the ground that is inside this chunk. */
+	static class Chain {
+		/** The vertices of the chain, in meters. */
+		final float[] vertices;
+		/** The body data of each edge of the chain. */
+		final LevelSegment[] segments;
+
+		/** Whether the ground continues before the first vertex, in the chunk to the left. */
+		boolean hasPreviousVertex;
+		/** The vertex before the first vertex, in meters. Box2D uses it so bodies don't catch on the join between chunks. */
+		float previousX, previousY;
+
+		/** Whether the ground continues after the last vertex, in the chunk to the right. */
+		boolean hasNextVertex;
+		/** The vertex after the last vertex, in meters. */
+		float nextX, nextY;
+
+		/**
+		 * @param vertices The vertices of the chain, in meters.
+		 * @param segments The body data of each edge of the chain.
+		 */
+		Chain(float[] vertices, LevelSegment[] segments) {
+			this.vertices = vertices;
+			this.segments = segments;
+		}
+	}
+
+	/** The parts of the ground in this chunk. */
+	final Array<Chain> chains = new Array<Chain>();
+
+	/** The platforms whose middle is in this chunk. Every three values are the start x, end x and height of a platform, in pixels. */
+	final IntArray platforms = new IntArray();
+
+	/** The x position of each knight that starts in this chunk, in pixels. */
+	final IntArray knights = new IntArray();
+
+	/** The fixtures of this chunk. This is empty while the chunk isn't loaded. */
+	final Array<Fixture> fixtures = new Array<Fixture>();
+
+	/** Whether the chunk's fixtures exist. */
+	boolean loaded;
+
+	/** Whether the chunk's knights have been spawned. Knights are only spawned the first time a chunk is loaded. */
+	boolean spawned;
+
+}
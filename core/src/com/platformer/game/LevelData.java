@@ -0,0 +1,452 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.zip.CRC32;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * The contents of a level file: the ground, the platforms, and where the knights start.
+ * Levels are written as text .pgli files, and can be compiled into binary .pglb files that load much faster.
+ * <p>
+ * A .pglb file is big-endian. It starts with the magic number "PGLB", the format version, the length and CRC-32 of the .pgli file it was compiled from,
+ * and the number of ints in each of the ground, platform and knight arrays. The arrays follow in that order.
+ * The length and CRC-32 let the build tell if the .pgli file has been changed since it was compiled, which file dates can't do once the files have been checked out or packed into a jar.
+ * The game doesn't check them when loading, since that would mean reading the whole text level, so stale levels have to be caught by the build.
+ * @author Vincent Macri
+ */
+public class LevelData {
+
+	/** The magic number at the start of a compiled level. These are the bytes "PGLB". */
+	public static final int MAGIC = 0x50474C42;
+
+	/** The version of the compiled level format. */
+	public static final int VERSION = 2;
+
+	/** The number of bytes before the arrays of a compiled level. */
+	private static final int HEADER_SIZE = 28;
+
+	/** The file extension of text levels. */
+	public static final String TEXT_EXTENSION = ".pgli";
+
+	/** The file extension of compiled levels. */
+	public static final String COMPILED_EXTENSION = ".pglb";
+
+	/** The ground, as groups of three ints: the start x, end x and height of each step, in pixels. */
+	final int[] ground;
+
+	/** The platforms, as groups of three ints: the start x, end x and height of each platform, in pixels. */
+	final int[] platforms;
+
+	/** The x position of each knight, in pixels. */
+	final int[] knights;
+
+	/**
+	 * Create level data from arrays.
+	 * @param newGround The ground, as groups of three ints: start x, end x and height.
+	 * @param newPlatforms The platforms, as groups of three ints: start x, end x and height.
+	 * @param newKnights The x position of each knight.
+	 */
+	public LevelData(int[] newGround, int[] newPlatforms, int[] newKnights) {
+		ground = newGround;
+		platforms = newPlatforms;
+		knights = newKnights;
+	}
+
+	/**
+	 * Load a level. If there is a compiled version of the level of the current format version next to it, that is loaded instead.
+	 * The compiled level is trusted to match the text level. The build's checkLevels task fails if it doesn't.
+	 * @param fileName The internal path of the .pgli file.
+	 * @return The level data.
+	 */
+	public static LevelData load(String fileName) {
+		return load(Gdx.files.internal(fileName));
+	}
+
+	/**
+	 * Load a level, preferring the compiled version next to it. See {@link #load(String)}.
+	 * @param text The .pgli file.
+	 * @return The level data.
+	 */
+	public static LevelData load(FileHandle text) {
+		FileHandle compiled = text.sibling(getCompiledFileName(text.name()));
+
+		if (compiled.exists()) {
+			ByteBuffer buffer = mapFile(compiled);
+			if (isCurrentVersion(buffer)) {
+				return readBinary(buffer);
+			}
+			System.out.println(compiled.path() + " is not a compiled level of version " + VERSION + ". Loading the text level instead. Run the compileLevels task to update it.");
+		}
+		return readText(text);
+	}
+
+	/**
+	 * Check if a buffer holds a compiled level that this version of the game can read.
+	 * @param buffer The contents of the .pglb file. Its position isn't changed.
+	 * @return True if the buffer starts with the magic number and the current format version.
+	 */
+	public static boolean isCurrentVersion(ByteBuffer buffer) {
+		ByteBuffer header = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		return header.remaining() >= HEADER_SIZE && header.getInt() == MAGIC && header.getInt() == VERSION;
+	}
+
+	/**
+	 * Check if a compiled level was compiled from a text level.
+	 * @param buffer The contents of the .pglb file. Its position isn't changed.
+	 * @param source The contents of the .pgli file.
+	 * @return True if the compiled level is of the current version, and the length and CRC-32 of the text level match the ones it was compiled from.
+	 */
+	public static boolean isCompiledFrom(ByteBuffer buffer, byte[] source) {
+		if (!isCurrentVersion(buffer)) {
+			return false;
+		}
+		ByteBuffer header = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		header.position(header.position() + 8); // Skip the magic number and version.
+		return header.getInt() == sourceLength(source) && header.getInt() == checksum(source);
+	}
+
+	/**
+	 * Get the length of a text level. Carriage returns aren't counted, since git may add them to line endings on checkout.
+	 * @param source The contents of the .pgli file.
+	 * @return The length, as it is stored in a compiled level.
+	 */
+	private static int sourceLength(byte[] source) {
+		int length = 0;
+		for (int i = 0; i < source.length; i++) {
+			if (source[i] != '\r') {
+				length++;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Get the CRC-32 of a text level. Carriage returns are skipped, like in {@link #sourceLength(byte[])}.
+	 * @param source The contents of the .pgli file.
+	 * @return The CRC-32, as it is stored in a compiled level.
+	 */
+	private static int checksum(byte[] source) {
+		CRC32 crc = new CRC32();
+		int runStart = 0;
+		for (int i = 0; i < source.length; i++) {
+			if (source[i] == '\r') { // Add the run of bytes before the carriage return all at once.
+				crc.update(source, runStart, i - runStart);
+				runStart = i + 1;
+			}
+		}
+		crc.update(source, runStart, source.length - runStart);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Get the name of the compiled version of a level.
+	 * @param fileName The name of the .pgli file.
+	 * @return The name of the .pglb file.
+	 */
+	public static String getCompiledFileName(String fileName) {
+		if (fileName.endsWith(TEXT_EXTENSION)) {
+			return fileName.substring(0, fileName.length() - TEXT_EXTENSION.length()) + COMPILED_EXTENSION;
+		}
+		return fileName + COMPILED_EXTENSION;
+	}
+
+	/**
+	 * Get the contents of a file as a ByteBuffer. Files on disk are memory mapped, so they don't need to be copied. Other files, such as files inside a jar, are read.
+	 * @param file The file.
+	 * @return The contents of the file.
+	 */
+	static ByteBuffer mapFile(FileHandle file) {
+		File diskFile = file.file();
+		if (diskFile.isFile()) {
+			RandomAccessFile input = null;
+			try {
+				input = new RandomAccessFile(diskFile, "r");
+				return input.getChannel().map(MapMode.READ_ONLY, 0, input.length()); // The mapping stays valid after the file is closed.
+			} catch (IOException e) {
+				throw new GdxRuntimeException("Couldn't map " + file.path(), e);
+			} finally {
+				StreamUtils.closeQuietly(input);
+			}
+		}
+		return ByteBuffer.wrap(file.readBytes());
+	}
+
+	/**
+	 * Read a compiled level.
+	 * @param buffer The contents of the .pglb file.
+	 * @return The level data.
+	 * @throws GdxRuntimeException If the buffer isn't a compiled level of a supported version.
+	 */
+	public static LevelData readBinary(ByteBuffer buffer) {
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+			throw new GdxRuntimeException("Not a compiled level.");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new GdxRuntimeException("Compiled level version " + version + " is not supported. Recompile the level.");
+		}
+		buffer.getInt(); // The length and CRC-32 of the text level are only needed by isCompiledFrom.
+		buffer.getInt();
+
+		int[] ground = new int[buffer.getInt()];
+		int[] platforms = new int[buffer.getInt()];
+		int[] knights = new int[buffer.getInt()];
+
+		IntBuffer ints = buffer.asIntBuffer();
+		if (ints.remaining() < ground.length + platforms.length + knights.length) {
+			throw new GdxRuntimeException("Compiled level is truncated.");
+		}
+		ints.get(ground);
+		ints.get(platforms);
+		ints.get(knights);
+
+		return new LevelData(ground, platforms, knights);
+	}
+
+	/**
+	 * Write the level in the compiled format.
+	 * @param output The stream to write to. It is not closed.
+	 * @param source The contents of the .pgli file that the level was read from, so that the game can tell if it changes.
+	 * @throws IOException If the stream can't be written to.
+	 */
+	public void writeBinary(OutputStream output, byte[] source) throws IOException {
+		DataOutputStream data = new DataOutputStream(output); // DataOutputStream is always big-endian.
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(sourceLength(source));
+		data.writeInt(checksum(source));
+		data.writeInt(ground.length);
+		data.writeInt(platforms.length);
+		data.writeInt(knights.length);
+		writeInts(data, ground);
+		writeInts(data, platforms);
+		writeInts(data, knights);
+		data.flush();
+	}
+
+	/**
+	 * Write an array of ints.
+	 * @param data The stream to write to.
+	 * @param values The ints to write.
+	 * @throws IOException If the stream can't be written to.
+	 */
+	private static void writeInts(DataOutputStream data, int[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			data.writeInt(values[i]);
+		}
+	}
+
+	/**
+	 * Read a text level.
+	 * If the file is badly formatted, the problem is printed and everything read before the problem is kept, so that the level can still be played.
+	 * @param file The .pgli file.
+	 * @return The level data.
+	 */
+	public static LevelData readText(FileHandle file) {
+		TextReader reader = new TextReader(file.readBytes());
+		IntArray ground = new IntArray();
+		IntArray platforms = new IntArray();
+		IntArray knights = new IntArray();
+
+		try {
+			reader.expect("[SOG]");
+			reader.readInts(ground, 3, "ground");
+			reader.expect("[EOG]");
+
+			if (reader.hasNext()) { // The platforms and knights are optional.
+				reader.expect("[SOP]");
+				reader.readInts(platforms, 3, "platform");
+				reader.expect("[EOP]");
+
+				reader.expect("[SOK]");
+				reader.readInts(knights, 1, "knight");
+			}
+		} catch (GdxRuntimeException e) {
+			System.out.println("Bad PGLI format in " + file.path() + ". " + e.getMessage());
+		}
+
+		return new LevelData(ground.toArray(), platforms.toArray(), knights.toArray());
+	}
+
+	/**
+	 * Getter for the number of ground steps.
+	 * @return The number of ground steps.
+	 */
+	public int getGroundCount() {
+		return ground.length / 3;
+	}
+
+	/**
+	 * Getter for the number of platforms.
+	 * @return The number of platforms.
+	 */
+	public int getPlatformCount() {
+		return platforms.length / 3;
+	}
+
+	/**
+	 * Getter for the number of knights.
+	 * @return The number of knights.
+	 */
+	public int getKnightCount() {
+		return knights.length;
+	}
+
+	/**
+	 * Reads the tokens of a text level straight from its bytes. Numbers are parsed without creating Strings.
+	 * @author Vincent Macri
+	 */
+	private static class TextReader {
+
+		/** The contents of the file. */
+		private final byte[] data;
+
+		/** The index of the next byte to read. */
+		private int position;
+
+		/**
+		 * @param newData The contents of the file.
+		 */
+		TextReader(byte[] newData) {
+			data = newData;
+		}
+
+		/** Move past any whitespace. */
+		private void skipWhitespace() {
+			while (position < data.length && data[position] <= ' ') {
+				position++;
+			}
+		}
+
+		/**
+		 * Check if there are any tokens left.
+		 * @return If there is another token.
+		 */
+		boolean hasNext() {
+			skipWhitespace();
+			return position < data.length;
+		}
+
+		/**
+		 * Check if the next token is an integer.
+		 * @return If the next token starts like an integer.
+		 */
+		boolean hasNextInt() {
+			if (!hasNext()) {
+				return false;
+			}
+			byte next = data[position];
+			return (next >= '0' && next <= '9') || (next == '-' && position + 1 < data.length && data[position + 1] >= '0' && data[position + 1] <= '9');
+		}
+
+		/**
+		 * Read an integer.
+		 * @return The integer.
+		 * @throws GdxRuntimeException If the next token isn't an integer.
+		 */
+		int nextInt() {
+			if (!hasNextInt()) {
+				throw new GdxRuntimeException("Expected a number but found " + (hasNext() ? next() : "the end of the file") + ".");
+			}
+			boolean negative = data[position] == '-';
+			if (negative) {
+				position++;
+			}
+			int value = 0;
+			while (position < data.length && data[position] > ' ') {
+				byte digit = data[position];
+				if (digit < '0' || digit > '9') {
+					throw new GdxRuntimeException("Bad number at byte " + position + ".");
+				}
+				value = value * 10 + (digit - '0');
+				position++;
+			}
+			return negative ? -value : value;
+		}
+
+		/**
+		 * Read the next token.
+		 * @return The token.
+		 */
+		String next() {
+			skipWhitespace();
+			int start = position;
+			while (position < data.length && data[position] > ' ') {
+				position++;
+			}
+			return new String(data, start, position - start);
+		}
+
+		/**
+		 * Read a token that must be a certain value, such as a section marker.
+		 * @param token The token that should be next.
+		 * @throws GdxRuntimeException If the next token is something else.
+		 */
+		void expect(String token) {
+			if (!hasNext()) {
+				throw new GdxRuntimeException("Expected " + token + " but found the end of the file.");
+			}
+			String found = next();
+			if (!found.equals(token)) {
+				throw new GdxRuntimeException(found + " is not " + token + ".");
+			}
+		}
+
+		/**
+		 * Read integers until the next token isn't one.
+		 * @param result The integers are added to this array.
+		 * @param groupSize How many integers make up one entry. Only whole entries are kept.
+		 * @param entryName What an entry is, for error messages.
+		 * @throws GdxRuntimeException If an entry is incomplete or a number is badly formatted.
+		 */
+		void readInts(IntArray result, int groupSize, String entryName) {
+			while (hasNextInt()) {
+				int entryStart = result.size;
+				try {
+					for (int i = 0; i < groupSize; i++) {
+						result.add(nextInt());
+					}
+				} catch (GdxRuntimeException e) {
+					result.truncate(entryStart); // Don't keep half of an entry.
+					throw new GdxRuntimeException("Error occured while reading " + entryName + " input. " + e.getMessage());
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+/**
+ * The body data of one edge of the level's ground, which is either a wall or the ground.
+ * @author Vincent Macri
+ */
+public class LevelSegment extends BodyData {
+
+	/** The y position of the highest end of the edge, in meters. */
+	final float top;
+
+	/**
+	 * Create the body data for an edge.
+	 * @param newBDType Either WALL or GROUND.
+	 * @param newTop The y position of the highest end of the edge, in meters.
+	 */
+	public LevelSegment(BodyDataType newBDType, float newTop) {
+		super(newBDType);
+		top = newTop;
+	}
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+
+/**
+ * The screen shown while the menu's assets are loading. The fonts and the skin aren't loaded yet, so it only draws a progress bar.
+ * The assets are loaded by {@link Platformer#render()}, which switches to the main menu once the menu's assets are ready.
+ * @author Vincent Macri
+ */
+public class LoadingScreen implements Screen {
+
+	/** The Platformer instance to be used. */
+	private final Platformer PLATFORMER;
+
+	/** Draws the progress bar. */
+	private ShapeRenderer shapes;
+
+	/** The width of the progress bar, as a fraction of the screen width. */
+	private static final float BAR_WIDTH = 0.5f;
+
+	/** The height of the progress bar, in pixels. */
+	private static final float BAR_HEIGHT = 20;
+
+	/**
+	 * Create a new loading screen.
+	 * @param PLATFORMER The Platformer instance to be used.
+	 */
+	public LoadingScreen(final Platformer PLATFORMER) {
+		this.PLATFORMER = PLATFORMER;
+	}
+
+	@Override
+	public void show() {
+		shapes = new ShapeRenderer();
+	}
+
+	@Override
+	public void render(float delta) {
+		Gdx.gl.glClearColor(1, 1, 1, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		float width = Gdx.graphics.getWidth() * BAR_WIDTH;
+		float x = (Gdx.graphics.getWidth() - width) / 2;
+		float y = (Gdx.graphics.getHeight() - BAR_HEIGHT) / 2;
+
+		shapes.begin(ShapeType.Filled);
+		shapes.setColor(0.8f, 0.8f, 0.8f, 1);
+		shapes.rect(x, y, width, BAR_HEIGHT);
+		shapes.setColor(0, 0, 0, 1);
+		shapes.rect(x, y, width * PLATFORMER.getMenuLoadingProgress(), BAR_HEIGHT);
+		shapes.end();
+	}
+
+	@Override
+	public void resize(int width, int height) {
+		if (shapes != null) {
+			shapes.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+		}
+	}
+
+	@Override
+	public void pause() {
+	}
+
+	@Override
+	public void resume() {
+	}
+
+	@Override
+	public void hide() {
+		shapes.dispose();
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+}
@@ -20,10 +20,9 @@
 
 package com.platformer.game;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.Body;
 
 /**
  * PGSI is short for Platformer Game Sprite Information.
@@ -41,6 +40,13 @@ public class PGSI {
 	/** The top of the PGSI. */
 	TextureRegion top;
 
+	/** All of the parts of the PGSI in one region, made by a {@link SpriteCompositor}. This is null if the PGSI hasn't been composited. */
+	TextureRegion composite;
+	/** How far right of the entity's render position the composite region is drawn, in pixels. */
+	float compositeOffsetX;
+	/** How far above the entity's render position the composite region is drawn, in pixels. */
+	float compositeOffsetY;
+
 	/**
 	 * The PGSI constructor with no top.
 	 * @param newLeft The TextureRegion at the left of the PGSI.
@@ -69,15 +75,20 @@ public class PGSI {
 
 	/**
 	 * Draw the PGSI.
-	 * @param batch The SpriteBatch to draw with.
-	 * @param body Where the sprite should be drawn.
+	 * @param queue The render queue to add the draws to.
+	 * @param entity The entity to draw the sprite for. The sprite is drawn at the entity's render position.
 	 */
-	void draw(SpriteBatch batch, Body body) {
+	void draw(RenderQueue queue, Entity entity) {
+		if (composite != null) { // Round the position the same way as the parts, so the sprite is drawn on the same pixels.
+			queue.draw(composite, (int) Math.ceil(entity.renderPosition.x * StaticVars.PIXELS_PER_METER + compositeOffsetX),
+					(int) (entity.renderPosition.y * StaticVars.PIXELS_PER_METER + compositeOffsetY));
+			return;
+		}
 
-		Vector2 dim = (Vector2)(body.getFixtureList().first().getUserData()); // Dimensions of first fixture.
+		Vector2 dim = (Vector2)(entity.body.getFixtureList().first().getUserData()); // Dimensions of first fixture.
 
-		float centrePosX = body.getPosition().x * StaticVars.PIXELS_PER_METER - dim.x / 2f;
-		float centrePosY = body.getPosition().y * StaticVars.PIXELS_PER_METER - dim.y / 2f;
+		float centrePosX = entity.renderPosition.x * StaticVars.PIXELS_PER_METER - dim.x / 2f;
+		float centrePosY = entity.renderPosition.y * StaticVars.PIXELS_PER_METER - dim.y / 2f;
 
 		float leftPosX = centrePosX - left.getRegionWidth();
 
@@ -89,16 +100,41 @@ public class PGSI {
 		drawRightPosX = drawCentrePosX + centre.getRegionWidth();
 
 
-		batch.draw(centre, drawCentrePosX, drawCentrePosY);
-		batch.draw(left, drawLeftPosX, drawCentrePosY);
-		batch.draw(right, drawRightPosX, drawCentrePosY);
+		queue.draw(centre, drawCentrePosX, drawCentrePosY);
+		queue.draw(left, drawLeftPosX, drawCentrePosY);
+		queue.draw(right, drawRightPosX, drawCentrePosY);
 
 		if (top != null){
 			float topPosY = (centrePosY + dim.y);
 			int drawTopPosY = (int) Math.floor(topPosY);
-			batch.draw(top, drawCentrePosX, drawTopPosY);
+			queue.draw(top, drawCentrePosX, drawTopPosY);
+		}
+
+	}
+
+	/**
+	 * Get the area that {@link #draw(RenderQueue, Entity)} draws over. This is a pixel bigger than the parts, because draw rounds their positions.
+	 * @param entity The entity that the sprite is drawn for.
+	 * @param bounds The rectangle to store the bounds in, in pixels.
+	 */
+	void getBounds(Entity entity, Rectangle bounds) {
+		if (composite != null) {
+			bounds.set(entity.renderPosition.x * StaticVars.PIXELS_PER_METER + compositeOffsetX - 1, entity.renderPosition.y * StaticVars.PIXELS_PER_METER + compositeOffsetY - 1,
+					composite.getRegionWidth() + 2, composite.getRegionHeight() + 2);
+			return;
+		}
+
+		Vector2 dim = (Vector2)(entity.body.getFixtureList().first().getUserData()); // Dimensions of first fixture.
+
+		float centrePosX = entity.renderPosition.x * StaticVars.PIXELS_PER_METER - dim.x / 2f;
+		float centrePosY = entity.renderPosition.y * StaticVars.PIXELS_PER_METER - dim.y / 2f;
+
+		float height = Math.max(centre.getRegionHeight(), Math.max(left.getRegionHeight(), right.getRegionHeight()));
+		if (top != null) {
+			height = Math.max(height, dim.y + top.getRegionHeight());
 		}
 
+		bounds.set(centrePosX - left.getRegionWidth() - 1, centrePosY - 1, left.getRegionWidth() + centre.getRegionWidth() + right.getRegionWidth() + 2, height + 2);
 	}
 
 }
@@ -20,6 +20,7 @@
 
 package com.platformer.game;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
@@ -27,19 +28,24 @@ import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
-import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
-import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader.FreeTypeFontLoaderParameter;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.scenes.scene2d.ui.CheckBox.CheckBoxStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.Window.WindowStyle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.platformer.game.CachedFontLoader.DistanceFieldFontLoaderParameter;
 
 /**
  * The main game class. This is the entrance point for the game.
@@ -47,19 +53,69 @@ import com.badlogic.gdx.scenes.scene2d.ui.Window.WindowStyle;
  */
 public class Platformer extends Game {
 
-	/** The SpriteBatch for drawing. */
+	/** The SpriteBatch for drawing. It uses {@link #fontShader}, so it can draw the distance field fonts. */
 	public SpriteBatch batch;
+	/** The shader that draws the distance field fonts. It draws everything else like the default shader. */
+	private ShaderProgram fontShader;
 	/** The AssetManager. It manages all of the game's assets. */
 	protected AssetManager assets;
 
+	/** How long loading assets may take in each frame while the game is loading, in milliseconds. */
+	protected final int LOAD_BUDGET_MILLIS = 10;
+
+	/** The file name of the player's atlas. */
+	private static final String PLAYER_ATLAS = "assets/PlayerSprites/Player.atlas";
+	/** The file name of the knight's atlas. */
+	private static final String KNIGHT_ATLAS = "assets/Enemies/Knight/Knight.atlas";
+	/** The file name of the clouds' atlas. */
+	private static final String CLOUD_ATLAS = "assets/Environment/Clouds/Clouds.atlas";
+	/** The file name of the UI skin's atlas, which the skin loads. */
+	private static final String UI_ATLAS = "assets/UI/UI.atlas";
+	/** The file name of the health bar's texture. */
+	private static final String HEALTH_BAR = "assets/UI/Bars/HealthBar.png";
+	/** The file name of the mana bar's texture. */
+	private static final String MANA_BAR = "assets/UI/Bars/ManaBar.png";
+	/** The player's animations. */
+	private static final String PLAYER_ANIMATIONS = "assets/PlayerSprites/Player.animations.json";
+	/** The knight's animations. */
+	private static final String KNIGHT_ANIMATIONS = "assets/Enemies/Knight/Knight.animations.json";
+
+	/** The file names of the assets the menus need. The menus are created once all of these are loaded. */
+	private final Array<String> menuAssets = new Array<String>();
+
+	/** If the menus have been created. */
+	private boolean menuLoaded;
+	/** If the PGSI have been created. */
+	private boolean spritesLoaded;
+	/** If every asset queued by {@link #queueAssets()} has been loaded. */
+	private boolean gameLoaded;
+
+	/** When the game started loading, in nanoseconds. */
+	private long loadStartTime;
+
 	/** The number of background textures. */
-	protected final int NUMBER_OF_BACKGROUND_TEXTURES = 10;
+	public static final int NUMBER_OF_BACKGROUND_TEXTURES = 10;
+
+	/** The tag of the game's log messages. */
+	public static final String LOG_TAG = "Humdingers";
 
 	/** The normal font to use. */
 	protected final String NORMAL_FONT = "LiberationMono-Regular";
 	/** The bold font to use. */
 	protected final String BOLD_FONT = "LiberationMono-Bold";
 
+	/** The folder that generated fonts are cached in. */
+	protected final String FONT_CACHE_FOLDER = "cache/fonts";
+
+	/**
+	 * The size each typeface's distance field font is generated at. Every font size is drawn by scaling it.
+	 * Liberation Mono's characters are 0.6 of the font size wide, so at this size they are a whole number of pixels wide and scaled text is spaced exactly.
+	 */
+	protected final int FONT_FIELD_SIZE = 60;
+
+	/** The fonts returned by {@link #getFont(String, int)}, by name and size. They share the glyph pages of their typeface's distance field font. */
+	private final ObjectMap<String, BitmapFont> fonts = new ObjectMap<String, BitmapFont>();
+
 	/** The size of the small font. */
 	protected final int SMALL_FONT_SIZE = 30;
 	/** The size of the regular font. */
@@ -75,6 +131,8 @@ public class Platformer extends Game {
 	/** The settings for the game. */
 	protected Settings settings;
 
+	/** The screen shown until the menus are loaded. */
+	protected LoadingScreen loadingScreen;
 	/** The main menu screen. */
 	protected MainMenuScreen menuScreen;
 	/** The options screen. */
@@ -110,6 +168,20 @@ public class Platformer extends Game {
 	/** The fireball that moves to the left. */
 	protected static TextureRegion fireballLeft;
 
+	/** The atlas of the composited PGSI, the clouds, the fireballs and the HUD's bars. */
+	private static TextureAtlas gameAtlas;
+
+	/** The filled part of the health bar. */
+	protected static TextureRegion healthBar;
+	/** The filled part of the mana bar. */
+	protected static TextureRegion manaBar;
+	/** The background of the bars. */
+	protected static TextureRegion barBack;
+	/** The icon that shows that melee attacks are selected. */
+	protected static TextureRegion meleeIcon;
+	/** The icon that shows that magic attacks are selected. */
+	protected static TextureRegion magicIcon;
+
 	/** The knight's stand right PGSI. */
 	protected static PGSI knightStandRight;
 	/** The knight's stand left PGSI. */
@@ -122,10 +194,18 @@ public class Platformer extends Game {
 	protected static PGSI[] knightWalkRight = new PGSI[2];
 	/** The player's walk left PGSI array. */
 	protected static PGSI[] knightWalkLeft = new PGSI[2];
+
+	/** The player's animations, by action. */
+	protected static AnimationTable playerAnimations;
+	/** The knight's animations, by action. Every knight shares them. */
+	protected static AnimationTable knightAnimations;
 	
 	@Override
 	public void create() {
 		settings = new Settings(true);
+		if (settings.isDebug()) { // Show the debug log messages, such as the loading times.
+			Gdx.app.setLogLevel(Application.LOG_DEBUG);
+		}
 
 		if(!settings.isFullscreen()){ // If the settings file says to be in windowed mode.
 			// Set resolution to default and set full-screen to false.
@@ -133,83 +213,144 @@ public class Platformer extends Game {
 		}
 
 		batch = new SpriteBatch(); // Create the SpriteBatch.
+		fontShader = DistanceFieldFont.createDistanceFieldShader();
+		batch.setShader(fontShader);
 		assets = new AssetManager(); // Create the AssetManager.
 
 		// Allow loading FreeTypeFonts.
 		FileHandleResolver resolver = new InternalFileHandleResolver();
 		assets.setLoader(FreeTypeFontGenerator.class, new FreeTypeFontGeneratorLoader(resolver));
-		assets.setLoader(BitmapFont.class, ".ttf", new FreetypeFontLoader(resolver));
+		assets.setLoader(BitmapFont.class, ".ttf", new CachedFontLoader(resolver, Gdx.files.local(FONT_CACHE_FOLDER)));
 
-		loadAssets(); // Load the game assets.
-
-		// Create the MusicManager.
-		music = new MusicManager(assets.get("assets/Audio/AdventureMeme.mp3", Music.class),
-				assets.get("assets/Audio/Overworld.mp3", Music.class),
-				assets.get("assets/Audio/BlipStream.mp3", Music.class),
-				settings);
-
-		// Create the screens that don't change much.
-		menuScreen = new MainMenuScreen(this);
-		optionsScreen = new OptionsScreen(this);
-		introScreen = new IntroScreen(this);
-		creditsScreen = new CreditsScreen(this);
-		loseScreen = new LoseScreen(this);
-		winScreen = new WinScreen(this);
+		queueAssets(); // Start loading the game assets. They are loaded a bit at a time in render.
 
-		this.setScreen(menuScreen);
+		loadingScreen = new LoadingScreen(this);
+		this.setScreen(loadingScreen);
 	}
 
-	/** Load game's the assets into {@link #assets}. */
-	private void loadAssets() {
-		long loadStartTime = System.nanoTime();
+	/**
+	 * Queue the game's assets to be loaded into {@link #assets}.
+	 * The assets the menus need are queued first, so the menus can be shown while the rest of the assets load.
+	 */
+	private void queueAssets() {
+		loadStartTime = System.nanoTime();
 
-		// Load the normal fonts.
-		loadFont(NORMAL_FONT, SMALL_FONT_SIZE);
-		loadFont(NORMAL_FONT, REGULAR_FONT_SIZE);
+		// Load the fonts. Each size is made from these in getFont.
+		loadFont(NORMAL_FONT);
+		loadFont(BOLD_FONT);
 
-		// Load the bold fonts.
-		loadFont(BOLD_FONT, BIG_FONT_SIZE);
-		loadFont(BOLD_FONT, LARGE_FONT_SIZE);
+		// Load the Skin. Its fonts are set once the fonts have loaded.
+		loadMenuAsset("assets/UI/UI.json", Skin.class);
 
-		assets.finishLoading(); // Make sure fonts are finished loading before moving on to loading the skin, which uses these fonts.
+		// Load the music. The MusicManager needs all of the songs.
+		loadMenuAsset("assets/Audio/AdventureMeme.mp3", Music.class); // Load the menu music.
+		loadMenuAsset("assets/Audio/Overworld.mp3", Music.class); // Load the background music.
+		loadMenuAsset("assets/Audio/BlipStream.mp3", Music.class); // Load the credits music.
 
-		// Load the Skin.
-		loadSkin();
+		loadMenuAsset("assets/Other/Logo.png", Texture.class); // The logo, for the credits.
 
-		// Load the music.
-		assets.load("assets/Audio/AdventureMeme.mp3", Music.class); // Load the menu music.
-		assets.load("assets/Audio/Overworld.mp3", Music.class); // Load the background music.
-		assets.load("assets/Audio/BlipStream.mp3", Music.class); // Load the credits music.
+		// Everything after this is only needed once the game starts.
 
 		// Load the TextureAtlases.
-		assets.load("assets/Environment/Clouds/Clouds.atlas", TextureAtlas.class); // Load the clouds.
-		loadPGSI();
+		assets.load(PLAYER_ATLAS, TextureAtlas.class); // Load the player atlas.
+		assets.load(KNIGHT_ATLAS, TextureAtlas.class); // Load the knight atlas.
+		assets.load(CLOUD_ATLAS, TextureAtlas.class); // Load the clouds.
 
 		// Load the Textures.
-		assets.load("assets/Other/Logo.png", Texture.class); // The logo.
-		assets.load("assets/UI/Bars/HealthBar.png", Texture.class); // The health bar texture.
-		assets.load("assets/UI/Bars/ManaBar.png", Texture.class); // The health bar texture.
+		assets.load(HEALTH_BAR, Texture.class); // The health bar texture.
+		assets.load(MANA_BAR, Texture.class); // The mana bar texture.
+
+		// The level background images are loaded by the GameScreen as the camera gets close to them.
+	}
+
+	/**
+	 * Queue an asset that the menus need.
+	 * @param fileName The file name of the asset.
+	 * @param type The type of the asset.
+	 */
+	private <T> void loadMenuAsset(String fileName, Class<T> type) {
+		assets.load(fileName, type);
+		menuAssets.add(fileName);
+	}
+
+	/**
+	 * Load assets for up to {@link #LOAD_BUDGET_MILLIS}, then set up whatever the loaded assets are needed for.
+	 * The menus are created as soon as their assets are loaded, and the PGSI and the game atlas as soon as everything they are made from is loaded.
+	 */
+	private void updateLoading() {
+		boolean finished = assets.update(LOAD_BUDGET_MILLIS);
 
-		for (int i = 0; i < NUMBER_OF_BACKGROUND_TEXTURES; i++) { // Load all of the level background images.
-			assets.load("assets/Environment/Level1/Level1_"+ i + ".png", Texture.class); 
+		if (!menuLoaded && getMenuLoadingProgress() == 1) {
+			createMenus();
+			menuLoaded = true;
+			Gdx.app.debug(LOG_TAG, "Menu loaded in " + (System.nanoTime() - loadStartTime) / 1000000 + " ms.");
 		}
 
+		if (!spritesLoaded && assets.isLoaded(PLAYER_ATLAS) && assets.isLoaded(KNIGHT_ATLAS) && assets.isLoaded(CLOUD_ATLAS) && assets.isLoaded(UI_ATLAS)
+				&& assets.isLoaded(HEALTH_BAR) && assets.isLoaded(MANA_BAR)) {
+			createPGSI(assets.get(PLAYER_ATLAS, TextureAtlas.class), assets.get(KNIGHT_ATLAS, TextureAtlas.class));
+			createGameAtlas(assets.get(CLOUD_ATLAS, TextureAtlas.class), assets.get(UI_ATLAS, TextureAtlas.class),
+					assets.get(HEALTH_BAR, Texture.class), assets.get(MANA_BAR, Texture.class));
+			spritesLoaded = true;
+		}
 
+		if (finished && menuLoaded && spritesLoaded) {
+			gameLoaded = true;
+			Gdx.app.debug(LOG_TAG, "Game loaded in " + (System.nanoTime() - loadStartTime) / 1000000 + " ms.");
+		}
+	}
 
-		assets.finishLoading(); // Load everything before continuing.
-		System.out.println("Game loaded in " + (System.nanoTime() - loadStartTime) + " nanoseconds.");
+	/** Wait for all of the queued assets to load. This is used before starting the game, in case the player got there before loading finished. */
+	protected void finishLoading() {
+		if (!gameLoaded) {
+			assets.finishLoading();
+			updateLoading();
+		}
 	}
 
 	/**
-	 * Load the PGSI for the player and the knight.
+	 * Get how many of the menu's assets have loaded.
+	 * @return The fraction of the menu's assets that are loaded, in the range [0, 1].
 	 */
-	private void loadPGSI() {
-		// Player resources.
-		assets.load("assets/PlayerSprites/Player.atlas", TextureAtlas.class); // Load the player atlas.
-		assets.finishLoadingAsset("assets/PlayerSprites/Player.atlas"); // Make sure the atlas is loaded before continuing.
+	protected float getMenuLoadingProgress() {
+		int loaded = 0;
+		for (int i = 0; i < menuAssets.size; i++) {
+			if (assets.isLoaded(menuAssets.get(i))) {
+				loaded++;
+			}
+		}
+		return (float)loaded / menuAssets.size;
+	}
 
-		TextureAtlas playerAtlas = assets.get("assets/PlayerSprites/Player.atlas", TextureAtlas.class); // Local variable for readability.
+	/** Create the MusicManager and the screens that don't change much, then show the main menu. */
+	private void createMenus() {
+		setupSkin();
 
+		// Create the MusicManager.
+		music = new MusicManager(assets.get("assets/Audio/AdventureMeme.mp3", Music.class),
+				assets.get("assets/Audio/Overworld.mp3", Music.class),
+				assets.get("assets/Audio/BlipStream.mp3", Music.class),
+				settings);
+
+		// Create the screens that don't change much.
+		menuScreen = new MainMenuScreen(this);
+		optionsScreen = new OptionsScreen(this);
+		introScreen = new IntroScreen(this);
+		creditsScreen = new CreditsScreen(this);
+		loseScreen = new LoseScreen(this);
+		winScreen = new WinScreen(this);
+
+		this.setScreen(menuScreen);
+	}
+
+	/**
+	 * Create the PGSI for the player and the knight from their atlases.
+	 * This is separate from {@link #updateLoading()} so that the sprites can be set up without an AssetManager.
+	 * The PGSI are drawn from their parts until {@link #createGameAtlas} is called.
+	 * @param playerAtlas The player's atlas.
+	 * @param knightAtlas The knight's atlas.
+	 */
+	public static void createPGSI(TextureAtlas playerAtlas, TextureAtlas knightAtlas) {
 		playerStandRight = new PGSI(playerAtlas.findRegion("SheathedIdleRightSL"), playerAtlas.findRegion("SheathedIdleRightSC"), playerAtlas.findRegion("SheathedIdleRightSR"));
 
 		playerStandLeft = new PGSI(playerAtlas.findRegion("SheathedIdleLeftSL"), playerAtlas.findRegion("SheathedIdleLeftSC"), playerAtlas.findRegion("SheathedIdleLeftSR"));
@@ -224,12 +365,6 @@ public class Platformer extends Game {
 		fireballRight = playerAtlas.findRegion("FireballRight");
 		fireballLeft = playerAtlas.findRegion("FireballLeft");
 
-		// Knight resources.
-		assets.load("assets/Enemies/Knight/Knight.atlas", TextureAtlas.class); // Load the knight atlas.
-		assets.finishLoadingAsset("assets/Enemies/Knight/Knight.atlas"); // Make sure the atlas is loaded before continuing.
-
-		TextureAtlas knightAtlas = assets.get("assets/Enemies/Knight/Knight.atlas", TextureAtlas.class); // Local variable for readability.
-
 		knightStandRight = new PGSI(knightAtlas.findRegion("KnightIdleRightSL"), knightAtlas.findRegion("KnightIdleRightSC"), knightAtlas.findRegion("KnightIdleRightSR"));
 		knightStandLeft = new PGSI(knightAtlas.findRegion("KnightIdleLeftSL"), knightAtlas.findRegion("KnightIdleLeftSC"), knightAtlas.findRegion("KnightIdleLeftSR"));
 		knightAttackRight = new PGSI[7];
@@ -272,14 +407,98 @@ public class Platformer extends Game {
 				knightAttackLeft[i] = new PGSI(knightAtlas.findRegion("KnightAttackLeftSL", i), knightAtlas.findRegion("KnightAttackLeftSC", i), knightAtlas.findRegion("KnightAttackLeftSR", i), knightAtlas.findRegion("KnightAttackLeftST", i));
 			}
 		}
+
+		createAnimations();
+	}
+
+	/** Read the animation tables of the player and the knight, which use the PGSI by the names of their fields. */
+	private static void createAnimations() {
+		ObjectMap<String, PGSI[]> sprites = new ObjectMap<String, PGSI[]>();
+		sprites.put("playerStandRight", new PGSI[] {playerStandRight});
+		sprites.put("playerStandLeft", new PGSI[] {playerStandLeft});
+		sprites.put("playerAttackRight", playerAttackRight);
+		sprites.put("playerAttackLeft", playerAttackLeft);
+		sprites.put("playerWalkRight", playerWalkRight);
+		sprites.put("playerWalkLeft", playerWalkLeft);
+		sprites.put("playerFireRight", playerFireRight);
+		sprites.put("playerFireLeft", playerFireLeft);
+
+		sprites.put("knightStandRight", new PGSI[] {knightStandRight});
+		sprites.put("knightStandLeft", new PGSI[] {knightStandLeft});
+		sprites.put("knightAttackRight", knightAttackRight);
+		sprites.put("knightAttackLeft", knightAttackLeft);
+		sprites.put("knightWalkRight", knightWalkRight);
+		sprites.put("knightWalkLeft", knightWalkLeft);
+
+		playerAnimations = new AnimationTable(Gdx.files.internal(PLAYER_ANIMATIONS), sprites, Player.ACTION_COUNT);
+		knightAnimations = new AnimationTable(Gdx.files.internal(KNIGHT_ANIMATIONS), sprites, Knight.ACTION_COUNT);
 	}
 
 	/**
-	 * Load the UI skin.
+	 * Pack everything the game draws, except the level background and the fonts, into one atlas, so the world and the HUD only need one or two texture binds.
+	 * Each PGSI is baked into one region, so each entity is drawn with one draw call.
+	 * The entities' bodies are the size of their stand right centre region, so that is where the tops go.
+	 * The PGSI must have been created with {@link #createPGSI}. The clouds should then be found in {@link #getGameAtlas()}.
+	 * @param cloudAtlas The clouds' atlas.
+	 * @param uiAtlas The UI skin's atlas, which has the background of the bars and the attack icons.
+	 * @param healthBarTexture The filled part of the health bar.
+	 * @param manaBarTexture The filled part of the mana bar.
 	 */
-	private void loadSkin() {
-		assets.load("assets/UI/UI.json", Skin.class);
-		assets.finishLoadingAsset("assets/UI/UI.json"); // Make sure the skin is loaded before continuing.
+	public static void createGameAtlas(TextureAtlas cloudAtlas, TextureAtlas uiAtlas, Texture healthBarTexture, Texture manaBarTexture) {
+		if (gameAtlas != null) {
+			gameAtlas.dispose();
+		}
+
+		SpriteCompositor compositor = new SpriteCompositor();
+		TextureRegion playerBody = playerStandRight.centre;
+		compositor.add(playerStandRight, playerBody);
+		compositor.add(playerStandLeft, playerBody);
+		compositor.add(playerAttackRight, playerBody);
+		compositor.add(playerAttackLeft, playerBody);
+		compositor.add(playerWalkRight, playerBody);
+		compositor.add(playerWalkLeft, playerBody);
+		compositor.add(playerFireRight, playerBody);
+		compositor.add(playerFireLeft, playerBody);
+
+		TextureRegion knightBody = knightStandRight.centre;
+		compositor.add(knightStandRight, knightBody);
+		compositor.add(knightStandLeft, knightBody);
+		compositor.add(knightAttackRight, knightBody);
+		compositor.add(knightAttackLeft, knightBody);
+		compositor.add(knightWalkRight, knightBody);
+		compositor.add(knightWalkLeft, knightBody);
+
+		compositor.add("FireballRight", fireballRight);
+		compositor.add("FireballLeft", fireballLeft);
+		compositor.add(cloudAtlas);
+		compositor.add("HealthBar", new TextureRegion(healthBarTexture));
+		compositor.add("ManaBar", new TextureRegion(manaBarTexture));
+		compositor.add("BarBack", uiAtlas.findRegion("BarBack"));
+		compositor.add("Melee", uiAtlas.findRegion("Melee"));
+		compositor.add("Magic", uiAtlas.findRegion("Magic"));
+		gameAtlas = compositor.finish();
+
+		fireballRight = gameAtlas.findRegion("FireballRight");
+		fireballLeft = gameAtlas.findRegion("FireballLeft");
+		healthBar = gameAtlas.findRegion("HealthBar");
+		manaBar = gameAtlas.findRegion("ManaBar");
+		barBack = gameAtlas.findRegion("BarBack");
+		meleeIcon = gameAtlas.findRegion("Melee");
+		magicIcon = gameAtlas.findRegion("Magic");
+	}
+
+	/**
+	 * Getter for the game atlas.
+	 * @return The atlas made by {@link #createGameAtlas}, which has the clouds by the names they have in their own atlas.
+	 */
+	public static TextureAtlas getGameAtlas() {
+		return gameAtlas;
+	}
+
+	/**
+	 * Set the fonts of the UI skin. The skin and the fonts must be loaded.
+	 */
+	private void setupSkin() {
 		Skin skin = assets.get("assets/UI/UI.json", Skin.class); // Retrieve the skin.
 
 		// Set the fonts. This is not done in the .json in order to allow easier adjusting of font sizes.
@@ -294,44 +513,102 @@ public class Platformer extends Game {
 	}
 
 	/**
-	 * Load a new font into {@link #assets}.
-	 * @param fontNameThe name of the font in the Fonts folder, without the .ttf extension.
-	 * @param fontSize The font size of the new font.
+	 * Load the distance field font of a typeface into {@link #assets}.
+	 * @param fontName The name of the font in the Fonts folder, without the .ttf extension.
 	 * @author Modified by Vincent Macri. Original from https://github.com/libgdx/libgdx/blob/master/tests/gdx-tests/src/com/badlogic/gdx/tests/extensions/FreeTypeFontLoaderTest.java
 	 */
-	private void loadFont(String fontName, int fontSize){
-		FreeTypeFontLoaderParameter fontParams = new FreeTypeFontLoaderParameter();
+	private void loadFont(String fontName){
+		DistanceFieldFontLoaderParameter fontParams = new DistanceFieldFontLoaderParameter();
 		fontParams.fontFileName = "assets/Fonts/" + fontName + ".ttf";
+		fontParams.fontParameters.size = FONT_FIELD_SIZE;
+		fontParams.fontParameters.minFilter = TextureFilter.Linear; // The distance between pixels has to be blended for the edges to be smooth.
+		fontParams.fontParameters.magFilter = TextureFilter.Linear;
+
+		assets.load(fontName + ".ttf", BitmapFont.class, fontParams);
+		menuAssets.add(fontName + ".ttf");
+	}
 
+	/**
+	 * Get the size in pixels to draw a font at, for the current screen.
+	 * @param fontSize The size of the font on a 1920x1080 screen.
+	 * @return The size in pixels.
+	 */
+	private int getFontPixelSize(int fontSize) {
 		float horizontalAdjust = Gdx.graphics.getWidth() / 1920f;
 		float verticalAdjust = Gdx.graphics.getHeight() / 1080f;
 		float combinedAdjust = horizontalAdjust * verticalAdjust * 1.5f;
 		float fontAdjust = Math.min(horizontalAdjust, Math.min(verticalAdjust, combinedAdjust));
 
-		fontParams.fontParameters.size = (int) (fontSize * Gdx.graphics.getDensity() * fontAdjust);
-
-		assets.load(fontName + fontSize + ".ttf", BitmapFont.class, fontParams);
+		return (int) (fontSize * Gdx.graphics.getDensity() * fontAdjust);
 	}
 
 	@Override
 	public void render() {
+		if (!gameLoaded) { // Keep loading the game assets in the background, even once the menus are showing.
+			updateLoading();
+		}
 		super.render();
 	}
 
 	public void dispose() {
+		for (BitmapFont font : fonts.values()) {
+			font.dispose();
+		}
 		batch.dispose();
+		fontShader.dispose();
+		if (gameAtlas != null) {
+			gameAtlas.dispose();
+			gameAtlas = null;
+		}
 		assets.dispose();
 		super.dispose();
 	}
 
 	/**
-	 * Return the given font, if loaded into {@link #assets}.
+	 * Return the given font. Its typeface must be loaded into {@link #assets}.
+	 * Every size of a typeface is its distance field font scaled, so the fonts share one set of glyph pages.
 	 * @param name The name of the font.
 	 * @param size The size of the font.
 	 * @return The desired BitMapFont.
 	 */
 	protected BitmapFont getFont(String name, int size) {
-		return assets.get(name  + size + ".ttf");
+		BitmapFont font = fonts.get(name + size);
+		if (font == null) {
+			DistanceFieldFont fieldFont = (DistanceFieldFont)assets.get(name + ".ttf", BitmapFont.class);
+
+			// The font needs its own data to have its own scale. The glyphs can be shared, since the scale isn't stored in them.
+			BitmapFontData fieldData = fieldFont.getData();
+			BitmapFontData data = new BitmapFontData();
+			data.imagePaths = fieldData.imagePaths;
+			data.fontFile = fieldData.fontFile;
+			data.flipped = fieldData.flipped;
+			data.padTop = fieldData.padTop;
+			data.padRight = fieldData.padRight;
+			data.padBottom = fieldData.padBottom;
+			data.padLeft = fieldData.padLeft;
+			data.lineHeight = fieldData.lineHeight;
+			data.capHeight = fieldData.capHeight;
+			data.ascent = fieldData.ascent;
+			data.descent = fieldData.descent;
+			data.down = fieldData.down;
+			data.blankLineScale = fieldData.blankLineScale;
+			data.markupEnabled = fieldData.markupEnabled;
+			data.cursorX = fieldData.cursorX;
+			System.arraycopy(fieldData.glyphs, 0, data.glyphs, 0, data.glyphs.length);
+			data.missingGlyph = fieldData.missingGlyph;
+			data.spaceWidth = fieldData.spaceWidth;
+			data.xHeight = fieldData.xHeight;
+			data.breakChars = fieldData.breakChars;
+			data.xChars = fieldData.xChars;
+			data.capChars = fieldData.capChars;
+
+			DistanceFieldFont scaledFont = new DistanceFieldFont(data, fieldFont.getRegions(), false);
+			scaledFont.setDistanceFieldSmoothing(fieldFont.getDistanceFieldSmoothing());
+			data.setScale(getFontPixelSize(size) / (float)FONT_FIELD_SIZE);
+			fonts.put(name + size, scaledFont);
+			font = scaledFont;
+		}
+		return font;
 	}
 
 	/**
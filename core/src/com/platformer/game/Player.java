@@ -22,8 +22,8 @@ package com.platformer.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
 
 /**
  * The player class. Contains methods and variables for handling player actions.
@@ -51,10 +51,8 @@ public class Player extends GameEntity {
 	 */
 	private int direction;
 
-	/** The time between attacking frames. */
-	private final float ATTACK_FRAME_DELAY = 0.1f;
-	/** The time between non-attacking frames. */
-	private final float FRAME_DELAY = 0.15f;
+	/** How many complete actions the player has, up to fireballing to the right. */
+	static final int ACTION_COUNT = 10;
 
 	/** The amount of mana the player currently has. */
 	public float mana;
@@ -68,6 +66,12 @@ public class Player extends GameEntity {
 	/** If the fireball being created has been shot yet. */
 	private boolean fireballShot;
 
+	/** Where the next fireball starts and how fast it goes. These are reused for every fireball. */
+	private final Vector2 fireballPosition = new Vector2(), fireballVelocity = new Vector2();
+
+	/** The enemies within attack range. This is reused every frame so a new array doesn't need to be made for each attack. */
+	private final Array<BaseEnemy> nearbyEnemies = new Array<BaseEnemy>(false, 16);
+
 	public Player(Vector2 loc) {
 		super(loc, 100, Platformer.playerStandRight.centre, BodyDataType.PLAYER, 0.5f, StaticVars.PLAYER_MASK, StaticVars.PLATFORM_MASK);
 		speed = 0.125f * StaticVars.PIXELS_PER_METER;
@@ -109,19 +113,26 @@ public class Player extends GameEntity {
 
 	/** Manage the playing of the fireball casting animation and the creation of the fireball itself. */
 	private void handleFireball() {
-		if (Help.hasFramePassed(animationStateTime, ATTACK_FRAME_DELAY, Platformer.playerFireLeft.length - 2) && !fireballShot){ // If it is time to shoot the fireball.
+		int action = basicAction + direction;
+		float frameDelay = Platformer.playerAnimations.getFrameDuration(action);
+		int frames = Platformer.playerAnimations.getFrameCount(action);
+		if (Help.hasFramePassed(animationStateTime, frameDelay, frames - 2) && !fireballShot){ // If it is time to shoot the fireball.
 			fireballShot = true;
-			StaticVars.bulletList.add(new Fireball(new Vector2(
+			fireballPosition.set(
 					body.getPosition().x * StaticVars.PIXELS_PER_METER - currentPGSI.centre.getRegionWidth() / 2 +
 					(direction == 0 ? -Platformer.fireballLeft.getRegionWidth() : currentPGSI.centre.getRegionWidth()),
 
-					body.getPosition().y * StaticVars.PIXELS_PER_METER - baseShape.getRegionHeight() / 4), 
-					new Vector2(direction == 0 ? -50 : 50, 10)));
+					body.getPosition().y * StaticVars.PIXELS_PER_METER - baseShape.getRegionHeight() / 4);
+			fireballVelocity.set(direction == 0 ? -50 : 50, 10);
+
+			Fireball fireball = StaticVars.fireballPool.obtain();
+			fireball.launch(fireballPosition, fireballVelocity);
+			StaticVars.bulletList.add(fireball);
 
 			mana -= FIREBALL_MANA_COST; // Subtract the mana cost of the fireball.
 		}
 		// If the attack animation has finished.
-		if (Help.hasFramePassed(animationStateTime, ATTACK_FRAME_DELAY, Platformer.playerFireLeft.length - 1)){
+		if (Help.hasFramePassed(animationStateTime, frameDelay, frames - 1)){
 			// Check if a movement key is being held down.
 			if (direction == 0) { // If facing left, prioritize moving left.
 				if (Gdx.input.isKeyPressed(Input.Keys.A)){
@@ -149,7 +160,8 @@ public class Player extends GameEntity {
 	private void attack() {
 
 		// If the attack is over.
-		if (Help.hasFramePassed(animationStateTime, ATTACK_FRAME_DELAY, Platformer.playerAttackRight.length - 1)){
+		int action = basicAction + direction;
+		if (Help.hasFramePassed(animationStateTime, Platformer.playerAnimations.getFrameDuration(action), Platformer.playerAnimations.getFrameCount(action) - 1)){
 			// Check if a movement key is being held down.
 			if (direction == 0) { // If facing left, prioritize moving left.
 				if (Gdx.input.isKeyPressed(Input.Keys.A)){
@@ -171,22 +183,23 @@ public class Player extends GameEntity {
 			return;
 		}
 
-		for (BaseEnemy enemy : StaticVars.enemyList) {
-			if (Help.calcDistance(body.getPosition(), enemy.body.getPosition()) <= attackRange){
-				if (direction == 0){ // If facing left.
-					if (body.getPosition().x >= enemy.body.getPosition().x){ // If enemy is to the left of the player.
-						enemy.takeDamage(attackDamage * Gdx.graphics.getDeltaTime());
-					}
-				}else if(body.getPosition().x <= enemy.body.getPosition().x) { // Else if facing right (implied) and enemy is to the right.
-					enemy.takeDamage(attackDamage * Gdx.graphics.getDeltaTime());
+		nearbyEnemies.clear();
+		StaticVars.enemyGrid.findEnemiesNear(body.getPosition(), attackRange, nearbyEnemies);
+		for (int i = 0; i < nearbyEnemies.size; i++) {
+			BaseEnemy enemy = nearbyEnemies.get(i);
+			if (direction == 0){ // If facing left.
+				if (body.getPosition().x >= enemy.body.getPosition().x){ // If enemy is to the left of the player.
+					enemy.takeDamage(attackDamage * GameScreen.deltaTime);
 				}
+			}else if(body.getPosition().x <= enemy.body.getPosition().x) { // Else if facing right (implied) and enemy is to the right.
+				enemy.takeDamage(attackDamage * GameScreen.deltaTime);
 			}
 		}
 	}
 
 	@Override
-	public void draw(SpriteBatch batch){
-		currentPGSI.draw(batch, body);
+	public void draw(RenderQueue queue){
+		currentPGSI.draw(queue, this);
 	}
 
 	@Override
@@ -199,33 +212,11 @@ public class Player extends GameEntity {
 			animationStateTime = 0;
 		}
 
-		if(currentAction == 0){ //Standing left.
-			currentPGSI = Platformer.playerStandLeft;
-		}else if(currentAction == 1){ //Standing right.
-			currentPGSI = Platformer.playerStandRight;
-		}else if(currentAction == 2){ //Walking left.
-			currentPGSI = Platformer.playerWalkLeft[Help.calcFrameNumber(animationStateTime, Platformer.playerWalkLeft.length, FRAME_DELAY)];
-		}else if(currentAction == 3){ //Walking right.
-			currentPGSI = Platformer.playerWalkRight[Help.calcFrameNumber(animationStateTime, Platformer.playerWalkRight.length, FRAME_DELAY)];
-		}else if(currentAction == 4){ //Jumping left.
-			currentPGSI = Platformer.playerStandLeft; //There is no jump animation yet.
-		}else if(currentAction == 5){ //Jumping right.
-			currentPGSI = Platformer.playerStandRight; //There is no jump animation yet.
-		}else if(currentAction == 6){ //Attacking left.
-			currentPGSI = Platformer.playerAttackLeft[Help.calcFrameNumber(animationStateTime, Platformer.playerAttackLeft.length, ATTACK_FRAME_DELAY)];
-		}else if(currentAction == 7){ //Attacking right.
-			currentPGSI = Platformer.playerAttackRight[Help.calcFrameNumber(animationStateTime, Platformer.playerAttackRight.length, ATTACK_FRAME_DELAY)];
-		}else if (currentAction == 8) { // Shoot fireball to left.
-			currentPGSI = Platformer.playerFireLeft[Help.calcFrameNumber(animationStateTime, Platformer.playerFireLeft.length, ATTACK_FRAME_DELAY)];
-		}else if (currentAction == 9) { // Shoot fireball to right.
-			currentPGSI = Platformer.playerFireRight[Help.calcFrameNumber(animationStateTime, Platformer.playerFireRight.length, ATTACK_FRAME_DELAY)];
-		}else{ //Default to standing right. Since this is the most likely action, we still check it first. Also, not skipping '1' makes my code look nicer.
-			currentPGSI = Platformer.playerStandRight;
-		}
+		currentPGSI = Platformer.playerAnimations.getFrame(currentAction, animationStateTime); // The animation of each action is in Player.animations.json.
 	}
 
-	// Set variables to start jumping.
-	void jump() {
+	/** Jump, if the player is standing on something. */
+	public void jump() {
 		if (Math.abs(body.getLinearVelocity().y)<= StaticVars.BASICALLY_ZERO) {
 			//body.applyLinearImpulse(new Vector2(0, jumpPower), body.getPosition(), true);
 			Help.setBodyYVelocity(body, jumpPower);
@@ -317,6 +308,14 @@ public class Player extends GameEntity {
 		// Don't do anything to velocity while jumping.
 	}
 
+	/**
+	 * Check if the player is in the middle of an attack. Starting to move cancels the attack.
+	 * @return If the player is doing a melee attack or shooting a fireball.
+	 */
+	public boolean isAttacking() {
+		return basicAction == 6 || basicAction == 8;
+	}
+
 	/**
 	 * Getter for direction.
 	 * 0 is left, 1 is right.
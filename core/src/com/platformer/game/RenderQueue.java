@@ -0,0 +1,246 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Collects the draws of a frame, then submits them to a Batch sorted by layer, and by texture within each layer.
+ * A Batch flushes every time the texture changes, so submitting every draw of a texture together means a frame only flushes once for each texture in each layer, however the entities are interleaved.
+ * Draws of the same texture in the same layer keep the order they were made in. Draws of different textures in the same layer can be reordered, so only things that don't need to overlap in a certain order should share a layer.
+ * @author Vincent Macri
+ */
+public class RenderQueue {
+
+	/** The layers of the world, from back to front. */
+	public enum Layer {
+		/** The clouds behind the level. */
+		CLOUDS,
+		/** The player and the enemies, which are in front of the level. The level is drawn from a SpriteCache between this layer and the clouds. */
+		CHARACTERS,
+		/** Bullets, which are drawn over everything that they can hit. */
+		BULLETS
+	}
+
+	/** Every layer, from back to front. */
+	private static final Layer[] LAYERS = Layer.values();
+
+	/** The draws of each layer, grouped by texture. */
+	private final LayerQueue[] layers = new LayerQueue[LAYERS.length];
+
+	/** The layer that draws are added to. */
+	private LayerQueue layer;
+
+	/** The region of each draw, or null if a whole texture is drawn. */
+	private TextureRegion[] regions = new TextureRegion[INITIAL_CAPACITY];
+	/** The texture of each draw that isn't of a region. */
+	private Texture[] textures = new Texture[INITIAL_CAPACITY];
+	/** Where each draw's bottom left corner is, in pixels. */
+	private float[] x = new float[INITIAL_CAPACITY], y = new float[INITIAL_CAPACITY];
+	/** The number of draws waiting to be submitted. */
+	private int size;
+
+	/** The number of draws that can be queued before the arrays need to grow. */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** Create an empty render queue. Draws go to the first layer until {@link #setLayer(Layer)} is called. */
+	public RenderQueue() {
+		for (int i = 0; i < layers.length; i++) {
+			layers[i] = new LayerQueue();
+		}
+		layer = layers[0];
+	}
+
+	/**
+	 * Set the layer that the next draws go to.
+	 * @param newLayer The layer.
+	 */
+	public void setLayer(Layer newLayer) {
+		layer = layers[newLayer.ordinal()];
+	}
+
+	/**
+	 * Queue a region to be drawn at its own size.
+	 * @param region The region.
+	 * @param drawX The x position of the bottom left corner, in pixels.
+	 * @param drawY The y position of the bottom left corner, in pixels.
+	 */
+	public void draw(TextureRegion region, float drawX, float drawY) {
+		int index = add(region.getTexture(), drawX, drawY);
+		regions[index] = region;
+	}
+
+	/**
+	 * Queue a whole texture to be drawn at its own size.
+	 * @param texture The texture.
+	 * @param drawX The x position of the bottom left corner, in pixels.
+	 * @param drawY The y position of the bottom left corner, in pixels.
+	 */
+	public void draw(Texture texture, float drawX, float drawY) {
+		int index = add(texture, drawX, drawY);
+		textures[index] = texture;
+	}
+
+	/**
+	 * Add a draw to the current layer.
+	 * @param texture The texture it draws from.
+	 * @param drawX The x position of the bottom left corner, in pixels.
+	 * @param drawY The y position of the bottom left corner, in pixels.
+	 * @return The index of the draw.
+	 */
+	private int add(Texture texture, float drawX, float drawY) {
+		if (size == x.length) {
+			grow();
+		}
+		x[size] = drawX;
+		y[size] = drawY;
+		layer.add(texture, size);
+		return size++;
+	}
+
+	/** Double the number of draws that can be queued. */
+	private void grow() {
+		int capacity = x.length * 2;
+
+		TextureRegion[] newRegions = new TextureRegion[capacity];
+		System.arraycopy(regions, 0, newRegions, 0, size);
+		regions = newRegions;
+
+		Texture[] newTextures = new Texture[capacity];
+		System.arraycopy(textures, 0, newTextures, 0, size);
+		textures = newTextures;
+
+		float[] newX = new float[capacity];
+		System.arraycopy(x, 0, newX, 0, size);
+		x = newX;
+
+		float[] newY = new float[capacity];
+		System.arraycopy(y, 0, newY, 0, size);
+		y = newY;
+	}
+
+	/**
+	 * Submit every queued draw to a batch, then empty the queue.
+	 * @param batch The batch. It must have begun.
+	 */
+	public void flush(Batch batch) {
+		for (int i = 0; i < LAYERS.length; i++) {
+			flush(batch, LAYERS[i]);
+		}
+		clear();
+	}
+
+	/**
+	 * Submit the queued draws of one layer to a batch. This lets something that isn't drawn with the batch go between two layers.
+	 * The draws stay queued until {@link #clear()} is called, so each layer must only be flushed once.
+	 * @param batch The batch. It must have begun.
+	 * @param layer The layer.
+	 */
+	public void flush(Batch batch, Layer layer) {
+		LayerQueue layerQueue = layers[layer.ordinal()];
+		for (int j = 0; j < layerQueue.size; j++) {
+			IntArray draws = layerQueue.draws[j];
+			for (int k = 0; k < draws.size; k++) {
+				int index = draws.items[k];
+				if (regions[index] != null) {
+					batch.draw(regions[index], x[index], y[index]);
+				} else {
+					batch.draw(textures[index], x[index], y[index]);
+				}
+			}
+		}
+	}
+
+	/** Throw away every queued draw. */
+	public void clear() {
+		for (int i = 0; i < size; i++) { // Don't keep textures that might be unloaded.
+			regions[i] = null;
+			textures[i] = null;
+		}
+		size = 0;
+		for (int i = 0; i < layers.length; i++) {
+			layers[i].clear();
+		}
+	}
+
+	/**
+	 * Getter for size.
+	 * @return The number of draws waiting to be submitted.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * The draws of one layer, grouped by texture. Textures are kept in the order they were first drawn with.
+	 * A layer only uses a few textures, so they are found by searching every one of them, which is faster than hashing.
+	 */
+	private static class LayerQueue {
+		/** The textures used in this layer. */
+		Texture[] textures = new Texture[4];
+		/** The indices of the draws of each texture, in the order they were made. These are kept when the layer is cleared, so they can be reused. */
+		IntArray[] draws = new IntArray[4];
+		/** The number of textures used in this layer. */
+		int size;
+
+		/**
+		 * Add a draw.
+		 * @param texture The texture it draws from.
+		 * @param index The index of the draw.
+		 */
+		void add(Texture texture, int index) {
+			for (int i = size - 1; i >= 0; i--) { // The last texture is the most likely to be drawn again.
+				if (textures[i] == texture) {
+					draws[i].add(index);
+					return;
+				}
+			}
+
+			if (size == textures.length) {
+				Texture[] newTextures = new Texture[size * 2];
+				System.arraycopy(textures, 0, newTextures, 0, size);
+				textures = newTextures;
+				IntArray[] newDraws = new IntArray[size * 2];
+				System.arraycopy(draws, 0, newDraws, 0, size);
+				draws = newDraws;
+			}
+			if (draws[size] == null) {
+				draws[size] = new IntArray();
+			}
+			textures[size] = texture;
+			draws[size].add(index);
+			size++;
+		}
+
+		/** Forget every draw. */
+		void clear() {
+			for (int i = 0; i < size; i++) {
+				textures[i] = null;
+				draws[i].clear();
+			}
+			size = 0;
+		}
+	}
+
+}
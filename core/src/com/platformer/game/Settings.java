@@ -57,6 +57,27 @@ public class Settings {
 	/** If the game is in debug mode. */
 	private boolean debug;
 
+	/** If the physics simulation runs at a fixed rate instead of once per rendered frame. */
+	private boolean fixedTimestep;
+
+	/** How many physics steps to run per second when {@link #fixedTimestep} is enabled. */
+	private int physicsStepRate;
+
+	/** The maximum number of physics steps to run in one frame when catching up after a slow frame. */
+	private int maxPhysicsSteps;
+
+	/** How far past each side of the screen the level is loaded, in pixels. */
+	private int levelLookahead;
+
+	/** The default physics step rate, in steps per second. */
+	public static final int DEFAULT_PHYSICS_STEP_RATE = 60;
+
+	/** The default maximum number of physics steps per frame. */
+	public static final int DEFAULT_MAX_PHYSICS_STEPS = 5;
+
+	/** The default level look-ahead, in pixels. This is one chunk of the level. */
+	public static final int DEFAULT_LEVEL_LOOKAHEAD = Level.CHUNK_WIDTH;
+
 	/**
 	 * Create a new Settings instance with no arguments.
 	 * This is used by the JSON parser to create a new instance of Settings before settings the values to the ones stores in the settings file.
@@ -102,6 +123,22 @@ public class Settings {
 		musicLevel = savedOptions.musicLevel;
 		fullscreen = savedOptions.fullscreen;
 		debug = savedOptions.debug;
+
+		if (savedOptions.physicsStepRate > 0 && savedOptions.maxPhysicsSteps > 0) {
+			fixedTimestep = savedOptions.fixedTimestep;
+			physicsStepRate = savedOptions.physicsStepRate;
+			maxPhysicsSteps = savedOptions.maxPhysicsSteps;
+		} else { // The settings file was written before the physics settings existed.
+			fixedTimestep = true;
+			physicsStepRate = DEFAULT_PHYSICS_STEP_RATE;
+			maxPhysicsSteps = DEFAULT_MAX_PHYSICS_STEPS;
+		}
+
+		if (savedOptions.levelLookahead > 0) {
+			levelLookahead = savedOptions.levelLookahead;
+		} else { // The settings file was written before level streaming existed.
+			levelLookahead = DEFAULT_LEVEL_LOOKAHEAD;
+		}
 	}
 
 	/**
@@ -122,6 +159,12 @@ public class Settings {
 		this.musicLevel = 1f;
 		this.fullscreen = true;
 		this.debug = false;
+
+		this.fixedTimestep = true;
+		this.physicsStepRate = DEFAULT_PHYSICS_STEP_RATE;
+		this.maxPhysicsSteps = DEFAULT_MAX_PHYSICS_STEPS;
+
+		this.levelLookahead = DEFAULT_LEVEL_LOOKAHEAD;
 	}
 
 	/**
@@ -312,5 +355,68 @@ public class Settings {
 		this.debug = debug;
 	}
 
+	/**
+	 * Getter for fixedTimestep.
+	 * @return fixedTimestep
+	 */
+	public boolean isFixedTimestep() {
+		return fixedTimestep;
+	}
+
+	/**
+	 * Setter for fixedTimestep.
+	 * @param fixedTimestep The new value of fixedTimestep.
+	 */
+	public void setFixedTimestep(boolean fixedTimestep) {
+		this.fixedTimestep = fixedTimestep;
+	}
+
+	/**
+	 * Getter for physicsStepRate.
+	 * @return physicsStepRate
+	 */
+	public int getPhysicsStepRate() {
+		return physicsStepRate;
+	}
+
+	/**
+	 * Setter for physicsStepRate.
+	 * @param physicsStepRate The new value of physicsStepRate.
+	 */
+	public void setPhysicsStepRate(int physicsStepRate) {
+		this.physicsStepRate = physicsStepRate;
+	}
+
+	/**
+	 * Getter for maxPhysicsSteps.
+	 * @return maxPhysicsSteps
+	 */
+	public int getMaxPhysicsSteps() {
+		return maxPhysicsSteps;
+	}
+
+	/**
+	 * Setter for maxPhysicsSteps.
+	 * @param maxPhysicsSteps The new value of maxPhysicsSteps.
+	 */
+	public void setMaxPhysicsSteps(int maxPhysicsSteps) {
+		this.maxPhysicsSteps = maxPhysicsSteps;
+	}
+
+	/**
+	 * Getter for levelLookahead.
+	 * @return levelLookahead
+	 */
+	public int getLevelLookahead() {
+		return levelLookahead;
+	}
+
+	/**
+	 * Setter for levelLookahead.
+	 * @param levelLookahead The new value of levelLookahead.
+	 */
+	public void setLevelLookahead(int levelLookahead) {
+		this.levelLookahead = levelLookahead;
+	}
 
 }
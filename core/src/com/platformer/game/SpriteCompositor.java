@@ -0,0 +1,203 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Bakes the parts of each PGSI into one image, so that a PGSI can be drawn with one draw call instead of three or four.
+ * The parts are copied into a Pixmap where {@link PGSI#draw} would draw them, and the Pixmaps are packed into a new atlas.
+ * The PGSI keep their parts, since the game uses their sizes.
+ * Other regions can be copied into the atlas by name, so that everything the game draws can share as few textures as possible.
+ * @author Vincent Macri
+ */
+class SpriteCompositor {
+
+	/** The smallest size of the pages of the atlas. Every GPU that runs the game supports textures this big. */
+	private static final int MIN_PAGE_SIZE = 1024;
+	/** The biggest size of the pages of the atlas. Everything the game packs fits on one page this big, so bigger pages would only waste memory. */
+	private static final int MAX_PAGE_SIZE = 2048;
+
+	/** Packs the baked images. */
+	private final PixmapPacker packer;
+
+	/** The PGSI that have been baked, in the order they were added. Each one's image is packed by its index. */
+	private final Array<PGSI> sprites = new Array<PGSI>();
+
+	/** The pixels of each texture that parts have been copied from. */
+	private final ObjectMap<Texture, Pixmap> texturePixmaps = new ObjectMap<Texture, Pixmap>();
+
+	/** The texture pixels in texturePixmaps that were read just for this, and need to be disposed. */
+	private final Array<Pixmap> ownedPixmaps = new Array<Pixmap>();
+
+	/** Create a compositor whose pages are as big as the GPU allows, up to {@link #MAX_PAGE_SIZE}. */
+	SpriteCompositor() {
+		int pageSize = getPageSize();
+		packer = new PixmapPacker(pageSize, pageSize, Format.RGBA8888, 2, false);
+	}
+
+	/**
+	 * Get the size of the pages to pack into.
+	 * @return The biggest texture size that the GPU supports, kept between {@link #MIN_PAGE_SIZE} and {@link #MAX_PAGE_SIZE}.
+	 */
+	private static int getPageSize() {
+		IntBuffer maxSize = BufferUtils.newIntBuffer(16); // Some drivers write more than one value.
+		Gdx.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_SIZE, maxSize);
+		return Math.max(MIN_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, maxSize.get(0)));
+	}
+
+	/**
+	 * Copy a region into the atlas.
+	 * @param name The name of the region in the atlas. This must not be a number, since those are used for the PGSI.
+	 * @param region The region.
+	 */
+	void add(String name, TextureRegion region) {
+		Pixmap image = new Pixmap(region.getRegionWidth(), region.getRegionHeight(), Format.RGBA8888);
+		copy(region, image, 0, 0);
+		packer.pack(name, image);
+		image.dispose();
+	}
+
+	/**
+	 * Copy every region of an atlas into the atlas, by the same names.
+	 * @param atlas The atlas. Its regions must not have indices.
+	 */
+	void add(TextureAtlas atlas) {
+		Array<AtlasRegion> regions = atlas.getRegions();
+		for (int i = 0; i < regions.size; i++) {
+			add(regions.get(i).name, regions.get(i));
+		}
+	}
+
+	/**
+	 * Bake PGSI.
+	 * @param frames The PGSI.
+	 * @param body The region that the size of the bodies the PGSI are drawn for comes from. This is the entity's base shape.
+	 */
+	void add(PGSI[] frames, TextureRegion body) {
+		for (int i = 0; i < frames.length; i++) {
+			add(frames[i], body);
+		}
+	}
+
+	/**
+	 * Bake a PGSI.
+	 * @param sprite The PGSI.
+	 * @param body The region that the size of the bodies the PGSI is drawn for comes from. This is the entity's base shape.
+	 */
+	void add(PGSI sprite, TextureRegion body) {
+		// Where draw puts the parts, from the bottom left of the left part. The top goes where the top of the body is.
+		int centreX = sprite.left.getRegionWidth();
+		int rightX = centreX + sprite.centre.getRegionWidth();
+		int width = rightX + sprite.right.getRegionWidth();
+		int height = Math.max(sprite.centre.getRegionHeight(), Math.max(sprite.left.getRegionHeight(), sprite.right.getRegionHeight()));
+		if (sprite.top != null) {
+			width = Math.max(width, centreX + sprite.top.getRegionWidth());
+			height = Math.max(height, body.getRegionHeight() + sprite.top.getRegionHeight());
+		}
+
+		// The parts are copied in the order draw draws them, so any overlaps blend the same way.
+		Pixmap image = new Pixmap(width, height, Format.RGBA8888);
+		copy(sprite.centre, image, centreX, 0);
+		copy(sprite.left, image, 0, 0);
+		copy(sprite.right, image, rightX, 0);
+		if (sprite.top != null) {
+			copy(sprite.top, image, centreX, body.getRegionHeight());
+		}
+
+		packer.pack(Integer.toString(sprites.size), image);
+		image.dispose();
+		sprites.add(sprite);
+
+		// The image is drawn from where draw puts the left part, which is left of the body by the width of the left part.
+		sprite.compositeOffsetX = -body.getRegionWidth() / 2f - sprite.left.getRegionWidth();
+		sprite.compositeOffsetY = -body.getRegionHeight() / 2f;
+	}
+
+	/**
+	 * Copy a region into an image.
+	 * @param region The region.
+	 * @param image The image.
+	 * @param x Where the left of the region goes in the image.
+	 * @param y Where the bottom of the region goes in the image, from the bottom of the image.
+	 */
+	private void copy(TextureRegion region, Pixmap image, int x, int y) {
+		Pixmap pixmap = getPixmap(region.getTexture());
+		image.drawPixmap(pixmap, x, image.getHeight() - y - region.getRegionHeight(), // Pixmaps go down from the top, but the batch draws up from the bottom.
+				region.getRegionX(), region.getRegionY(), region.getRegionWidth(), region.getRegionHeight());
+	}
+
+	/**
+	 * Get the pixels of a texture.
+	 * @param texture The texture.
+	 * @return The pixels.
+	 */
+	private Pixmap getPixmap(Texture texture) {
+		Pixmap pixmap = texturePixmaps.get(texture);
+		if (pixmap == null) {
+			TextureData data = texture.getTextureData();
+			if (!data.isPrepared()) { // Textures loaded from files drop their pixels once they are uploaded, so they are read again.
+				data.prepare();
+			}
+			pixmap = data.consumePixmap();
+			if (data.disposePixmap()) {
+				ownedPixmaps.add(pixmap);
+			}
+			texturePixmaps.put(texture, pixmap);
+		}
+		return pixmap;
+	}
+
+	/**
+	 * Create the atlas of baked images and copied regions, and give each PGSI its image.
+	 * @return The atlas. It must be disposed when the PGSI are no longer drawn.
+	 */
+	TextureAtlas finish() {
+		TextureAtlas atlas = packer.generateTextureAtlas(TextureFilter.Nearest, TextureFilter.Nearest, false);
+		for (int i = 0; i < sprites.size; i++) {
+			sprites.get(i).composite = atlas.findRegion(Integer.toString(i));
+		}
+
+		packer.dispose();
+		for (int i = 0; i < ownedPixmaps.size; i++) {
+			ownedPixmaps.get(i).dispose();
+		}
+		ownedPixmaps.clear();
+		texturePixmaps.clear();
+		return atlas;
+	}
+
+}
@@ -74,12 +74,15 @@ public class StaticVars {
 	/** A value very close to 0 to be used in velocity checking so that we can deal with floating point errors. */
 	public static final float BASICALLY_ZERO = 0.0000001f;
 
-	/** An unordered list to store all of the enemies. */
-	public static Array<BaseEnemy> enemyList = new Array<BaseEnemy>(false, 16);
+	/** An unordered list to store all of the enemies, along with the state that is updated for all of them every step. */
+	public static EnemyStore enemyList = new EnemyStore(16);
 	
 	/** An unordered list to store all of the bullets. */
 	public static Array<BaseBullet> bulletList = new Array<BaseBullet>(false, 16);
 	
+	/** The pool that fireballs are taken from. A new one is made for each world. */
+	public static FireballPool fireballPool;
+	
 	/** An unordered list to store all of the clouds. */
 	public static Array<Cloud> cloudList = new Array<Cloud>(false, 16);
 	
@@ -89,6 +92,9 @@ public class StaticVars {
 	/** The width of the entire level. */
 	public static final int LEVEL_WIDTH = 10240;
 
+	/** The enemies in {@link #enemyList}, indexed by where they are in the level. */
+	public static EnemyGrid enemyGrid = new EnemyGrid(LEVEL_WIDTH);
+
 	/** The filename of the settings file. */
 	public static final String SETTINGS_FILE_NAME = "Settings.json";
 	
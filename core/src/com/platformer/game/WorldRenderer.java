@@ -0,0 +1,104 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * Draws the game world: the clouds, the level background, the player and the enemies, and the bullets, in that order.
+ * Things that the camera can't see are skipped. The level background is drawn from its own SpriteCache.
+ * Everything else goes through a {@link RenderQueue}, so the batch only flushes once for each texture in each layer.
+ * @author Vincent Macri
+ */
+public class WorldRenderer {
+
+	/** Skips drawing things that the camera can't see. */
+	private final FrustumCuller culler = new FrustumCuller();
+
+	/** Sorts the draws of each layer by texture. */
+	private final RenderQueue queue = new RenderQueue();
+
+	/** How many draw calls the batch and the background made in the last frame. */
+	private int renderCalls;
+
+	/**
+	 * Draw the world.
+	 * @param batch The SpriteBatch to draw with. It must not have begun.
+	 * @param camera The camera. It must have been updated.
+	 * @param background The level background, or null to not draw one.
+	 */
+	public void draw(SpriteBatch batch, Camera camera, LevelBackground background) {
+		culler.setView(camera);
+		batch.setProjectionMatrix(camera.combined);
+
+		queue.setLayer(RenderQueue.Layer.CLOUDS);
+		for (int i = 0; i < StaticVars.cloudList.size; i++){
+			culler.draw(queue, StaticVars.cloudList.get(i));
+		}
+
+		queue.setLayer(RenderQueue.Layer.CHARACTERS); // The player's texture is drawn first, so the enemies are still drawn over the player.
+		culler.draw(queue, StaticVars.player);
+
+		for (int i = 0; i < StaticVars.enemyList.size; i++) {
+			culler.draw(queue, StaticVars.enemyList.get(i));
+		}
+
+		queue.setLayer(RenderQueue.Layer.BULLETS);
+		for (int i = 0; i < StaticVars.bulletList.size; i++) {
+			culler.draw(queue, StaticVars.bulletList.get(i));
+		}
+
+		batch.begin();
+		queue.flush(batch, RenderQueue.Layer.CLOUDS);
+		batch.end();
+		renderCalls = batch.renderCalls;
+
+		if (background != null) { // The background is drawn between the clouds and the characters.
+			renderCalls += background.draw(camera, culler);
+		}
+
+		batch.begin();
+		queue.flush(batch, RenderQueue.Layer.CHARACTERS);
+		queue.flush(batch, RenderQueue.Layer.BULLETS);
+		batch.end();
+		renderCalls += batch.renderCalls;
+
+		queue.clear();
+	}
+
+	/**
+	 * Getter for renderCalls.
+	 * @return How many draw calls the batch and the background's cache made in the last frame.
+	 */
+	public int getRenderCalls() {
+		return renderCalls;
+	}
+
+	/**
+	 * Getter for the culler.
+	 * @return The culler, which counts how many things were drawn and skipped in the last frame.
+	 */
+	public FrustumCuller getCuller() {
+		return culler;
+	}
+
+}
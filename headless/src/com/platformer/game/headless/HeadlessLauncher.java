@@ -0,0 +1,80 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Runs the game simulation without a window and reports how fast it runs.
+ * Arguments:
+ * <ul>
+ * <li>--ticks N: How many steps to measure. Defaults to 6000.</li>
+ * <li>--warmup N: How many steps to run before measuring. Defaults to 1000.</li>
+ * <li>--knights N: How many extra knights to spawn on top of the level's knights. Defaults to 0.</li>
+ * <li>--rate N: The step rate, in steps per second. Defaults to 60.</li>
+ * <li>--level PATH: The .pgli file to load.</li>
+ * <li>--profile true: Report how long each phase of the last measured steps took.</li>
+ * <li>--draw true: Draw the world and the HUD after every measured step, and report the GL calls, draw calls and texture binds per frame. The step times then include drawing. Every background texture is loaded up front.</li>
+ * <li>--invulnerable true: Heal the player to full before every step, so the game doesn't end however many knights there are.</li>
+ * <li>--max-allocation N: Fail with exit status 1 if the measured steps allocated more than N bytes each on average, counting every thread. This checks that the game loop doesn't make garbage. The run also fails if the game ends before every step was run. Not checked by default.</li>
+ * </ul>
+ * This must be run from the desktop folder so the assets can be found.
+ * @author Vincent Macri
+ */
+public class HeadlessLauncher {
+
+	public static void main (String[] arg) {
+		SimulationBenchmark.Options options = new SimulationBenchmark.Options();
+
+		for (int i = 0; i < arg.length - 1; i += 2) {
+			String name = arg[i];
+			String value = arg[i + 1];
+
+			if (name.equals("--ticks")) {
+				options.ticks = Integer.parseInt(value);
+			} else if (name.equals("--warmup")) {
+				options.warmupTicks = Integer.parseInt(value);
+			} else if (name.equals("--knights")) {
+				options.extraKnights = Integer.parseInt(value);
+			} else if (name.equals("--rate")) {
+				options.stepRate = Integer.parseInt(value);
+			} else if (name.equals("--level")) {
+				options.levelFile = value;
+			} else if (name.equals("--profile")) {
+				options.profile = Boolean.parseBoolean(value);
+			} else if (name.equals("--draw")) {
+				options.draw = Boolean.parseBoolean(value);
+			} else if (name.equals("--invulnerable")) {
+				options.invulnerable = Boolean.parseBoolean(value);
+			} else if (name.equals("--max-allocation")) {
+				options.maxAllocation = Long.parseLong(value);
+			} else {
+				System.out.println("Unknown argument " + name + ".");
+				return;
+			}
+		}
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 0; // The benchmark runs entirely in create(), so don't slow down the render loop.
+		new HeadlessApplication(new SimulationBenchmark(options), config);
+	}
+}
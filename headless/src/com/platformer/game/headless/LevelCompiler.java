@@ -0,0 +1,120 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game.headless;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.platformer.game.LevelData;
+
+/**
+ * Compiles text .pgli levels into binary .pglb levels, which the game loads instead when they are present.
+ * Each argument is either a .pgli file or a folder to search for .pgli files.
+ * With --check as the first argument, nothing is compiled. The run fails with exit status 1 if any level's .pglb file is missing or wasn't compiled from its .pgli file as it is now.
+ * @author Vincent Macri
+ */
+public class LevelCompiler {
+
+	/** If the levels are only being checked. */
+	private static boolean checkOnly;
+
+	/** If a level's compiled file is missing or out of date, when checking. */
+	private static boolean outOfDate;
+
+	public static void main (String[] arg) {
+		int first = 0;
+		if (arg.length > 0 && arg[0].equals("--check")) {
+			checkOnly = true;
+			first = 1;
+		}
+		if (arg.length == first) {
+			System.out.println("Usage: LevelCompiler [--check] <.pgli file or folder>...");
+			return;
+		}
+
+		for (int i = first; i < arg.length; i++) {
+			compile(new FileHandle(arg[i]));
+		}
+
+		if (outOfDate) { // Let the build see that the check failed.
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Compile a level, or every level in a folder and its subfolders.
+	 * @param file The .pgli file or folder.
+	 */
+	private static void compile(FileHandle file) {
+		if (file.isDirectory()) {
+			FileHandle[] children = file.list();
+			for (int i = 0; i < children.length; i++) {
+				if (children[i].isDirectory() || children[i].name().endsWith(LevelData.TEXT_EXTENSION)) {
+					compile(children[i]);
+				}
+			}
+			return;
+		}
+
+		byte[] source = file.readBytes();
+		if (checkOnly) {
+			check(file, source);
+			return;
+		}
+
+		LevelData level = LevelData.readText(file);
+		FileHandle compiled = new FileHandle(LevelData.getCompiledFileName(file.path()));
+
+		OutputStream output = null;
+		try {
+			output = compiled.write(false);
+			level.writeBinary(output, source);
+		} catch (IOException e) {
+			System.out.println("Couldn't write " + compiled.path() + ".");
+			e.printStackTrace();
+			return;
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+
+		System.out.println(file.path() + " -> " + compiled.path() + ": " + level.getGroundCount() + " ground steps, " + level.getPlatformCount() + " platforms, "
+				+ level.getKnightCount() + " knights, " + file.length() + " -> " + compiled.length() + " bytes.");
+	}
+
+	/**
+	 * Check that a level's compiled file was compiled from it.
+	 * @param file The .pgli file.
+	 * @param source The contents of the .pgli file.
+	 */
+	private static void check(FileHandle file, byte[] source) {
+		FileHandle compiled = new FileHandle(LevelData.getCompiledFileName(file.path()));
+		if (!compiled.exists() || !LevelData.isCompiledFrom(ByteBuffer.wrap(compiled.readBytes()), source)) {
+			System.out.println(compiled.path() + " is missing or out of date. Run the compileLevels task.");
+			outOfDate = true;
+		} else {
+			System.out.println(compiled.path() + " is up to date.");
+		}
+	}
+
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game.headless;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.platformer.game.BaseEnemy;
+import com.platformer.game.Player;
+import com.platformer.game.StaticVars;
+
+/**
+ * Plays the game in place of a person, so that every run of the headless benchmark does the same thing.
+ * The player walks across the level and back, fighting every enemy it meets: enemies in reach get the sword, and enemies further away get a fireball while there is mana for one.
+ * Enemies on a different level than the player, such as on top of a wall, are left alone, since walking towards them would get the player stuck.
+ * Walls too high to jump over are climbed by hopping back and forth so the player zigzags up the platforms in front of them: after landing somewhere higher the player heads for the wall, and otherwise turns around.
+ * If that doesn't get the player past the wall, the player turns back.
+ * @author Vincent Macri
+ */
+public class ScriptedInput {
+
+	/** How close an enemy has to be for the player to swing the sword at it, in meters. This is a little less than the player's attack range, so the swing reaches. */
+	private static final float MELEE_RANGE = 1.2f;
+	/** How close an enemy has to be for the player to shoot a fireball at it, in meters. */
+	private static final float FIREBALL_RANGE = 8;
+	/** How far above or below the player an enemy can be and still be fought, in meters. Fireballs fly almost level. */
+	private static final float FIGHT_HEIGHT = 1.5f;
+	/** How far from the edge of the level the player turns around, in meters. */
+	private static final float TURN_MARGIN = 4;
+	/** How many steps the player can walk without getting anywhere before jumping. */
+	private static final int STUCK_STEPS = 10;
+	/** How many jumps the player tries to get past something before climbing. */
+	private static final int STUCK_JUMPS = 3;
+	/** How many steps the player tries to climb past a wall before giving up. */
+	private static final int CLIMB_STEPS = 900;
+	/** How far the player's height can change in a step while still counting as standing on something, in meters. */
+	private static final float STANDING_DISTANCE = 0.001f;
+	/** How many steps in a row the player's height has to stay the same to count as standing. One isn't enough, since the player barely moves at the top of a jump. */
+	private static final int STANDING_STEPS = 2;
+	/** How far the player has to move in a step to not count as stuck, in meters. */
+	private static final float STUCK_DISTANCE = 0.01f;
+
+	/** The enemies near the player. This is reused every step. */
+	private final Array<BaseEnemy> nearbyEnemies = new Array<BaseEnemy>(false, 16);
+	/** If the player is walking to the right end of the level, when there is no enemy to fight. */
+	private boolean walkingRight = true;
+	/** Where the player was at the last step. */
+	private float lastX, lastY;
+	/** How many steps in a row the player's height has stayed the same. */
+	private int stillSteps;
+	/** How many steps in a row the player has walked without moving. */
+	private int stuckSteps;
+	/** How many times in a row the player has jumped without getting past what's in the way. */
+	private int stuckJumps;
+	/** How many steps the player has spent climbing the current wall, or -1 if the player isn't climbing. */
+	private int climbSteps = -1;
+	/** Where the wall being climbed is, in meters. */
+	private float wallX;
+	/** The direction the player was walking when it hit the wall being climbed. */
+	private boolean wallRight;
+	/** If the player is walking right while climbing. */
+	private boolean climbingRight;
+	/** How high the player was when it last landed while climbing, in meters. */
+	private float landingY;
+
+	/**
+	 * Press the buttons for this step.
+	 * @param player The player to control.
+	 */
+	public void apply(Player player) {
+		Vector2 position = player.getPosition();
+		float x = position.x;
+		boolean moved = Math.abs(x - lastX) > STUCK_DISTANCE;
+		stillSteps = Math.abs(position.y - lastY) <= STANDING_DISTANCE ? stillSteps + 1 : 0;
+		boolean standing = stillSteps >= STANDING_STEPS;
+		boolean landed = stillSteps == STANDING_STEPS;
+		lastX = x;
+		lastY = position.y;
+
+		if (player.isAttacking()) { // Let the attack finish, since walking would cancel it.
+			stuckSteps = 0;
+			return;
+		}
+
+		BaseEnemy target = findNearestEnemy(position);
+		if (target != null) {
+			Vector2 targetPosition = target.getPosition();
+			boolean targetRight = targetPosition.x >= x;
+			if (position.dst(targetPosition) <= MELEE_RANGE) {
+				if (targetRight) {
+					player.startAttackRight();
+				} else {
+					player.startAttackLeft();
+				}
+				return;
+			}
+			if (targetRight) {
+				player.startFireRight();
+			} else {
+				player.startFireLeft();
+			}
+			if (!player.isAttacking()) { // There wasn't enough mana, so get close enough to use the sword.
+				walk(player, targetRight, moved);
+			}
+			return;
+		}
+
+		if (climbSteps >= 0) {
+			climb(player, position, standing, landed);
+			return;
+		}
+
+		float levelWidth = StaticVars.LEVEL_WIDTH / StaticVars.PIXELS_PER_METER;
+		if (x > levelWidth - TURN_MARGIN) {
+			walkingRight = false;
+		} else if (x < TURN_MARGIN) {
+			walkingRight = true;
+		}
+		walk(player, walkingRight, moved);
+		if (stuckJumps >= STUCK_JUMPS) { // Whatever is in the way is too high to jump over.
+			climbSteps = 0;
+			wallX = x;
+			wallRight = walkingRight;
+			climbingRight = !walkingRight; // Back away from the wall first, to get under the platforms in front of it.
+			landingY = position.y;
+			stuckJumps = 0;
+		}
+	}
+
+	/**
+	 * Hop back and forth to climb over a wall.
+	 * @param player The player to control.
+	 * @param position Where the player is.
+	 * @param standing If the player is standing on something.
+	 * @param landed If the player just landed.
+	 */
+	private void climb(Player player, Vector2 position, boolean standing, boolean landed) {
+		float x = position.x;
+		if (wallRight ? x > wallX + 1 : x < wallX - 1) { // The player got past the wall.
+			climbSteps = -1;
+			return;
+		}
+		if (++climbSteps > CLIMB_STEPS) { // Give up, and go the other way.
+			climbSteps = -1;
+			walkingRight = !wallRight;
+			return;
+		}
+
+		if (landed) {
+			climbingRight = position.y > landingY + STANDING_DISTANCE ? wallRight : !climbingRight;
+			landingY = position.y;
+		}
+		if (climbingRight) {
+			player.moveRight();
+		} else {
+			player.moveLeft();
+		}
+		if (standing) {
+			player.jump();
+		}
+	}
+
+	/**
+	 * Find the closest enemy within fireball range that is about as high up as the player.
+	 * @param position Where the player is.
+	 * @return The closest enemy, or null if there are none in range.
+	 */
+	private BaseEnemy findNearestEnemy(Vector2 position) {
+		nearbyEnemies.clear();
+		StaticVars.enemyGrid.findEnemiesNear(position, FIREBALL_RANGE, nearbyEnemies);
+		BaseEnemy nearest = null;
+		float nearestDistance = Float.MAX_VALUE;
+		for (int i = 0; i < nearbyEnemies.size; i++) {
+			BaseEnemy enemy = nearbyEnemies.get(i);
+			if (Math.abs(enemy.getPosition().y - position.y) > FIGHT_HEIGHT) {
+				continue;
+			}
+			float distance = position.dst2(enemy.getPosition());
+			if (distance < nearestDistance) {
+				nearest = enemy;
+				nearestDistance = distance;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Walk, and jump if something is in the way.
+	 * @param player The player to control.
+	 * @param right If the player should walk right, otherwise left.
+	 * @param moved If the player moved since the last step.
+	 */
+	private void walk(Player player, boolean right, boolean moved) {
+		if (right) {
+			player.moveRight();
+		} else {
+			player.moveLeft();
+		}
+
+		if (moved) {
+			stuckSteps = 0;
+			stuckJumps = 0;
+		} else if (++stuckSteps >= STUCK_STEPS) {
+			player.jump();
+			stuckSteps = 0;
+			stuckJumps++;
+		}
+	}
+
+}
@@ -0,0 +1,373 @@
+/*******************************************************************************************
+ * Humdingers is a simple fighting platformer game created in Java with the libGDX library.
+ * Copyright (C) 2017 Vincent Macri
+ * 
+ * This file is part of Humdingers.
+ *
+ * Humdingers is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Humdingers is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Humdingers.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************************/
+
+package com.platformer.game.headless;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.platformer.game.DrawStats;
+import com.platformer.game.FrameProfiler;
+import com.platformer.game.GameHud;
+import com.platformer.game.GameSimulation;
+import com.platformer.game.Knight;
+import com.platformer.game.LevelBackground;
+import com.platformer.game.Platformer;
+import com.platformer.game.StaticVars;
+import com.platformer.game.WorldRenderer;
+
+/**
+ * Loads a level, then runs the game simulation as fast as possible and reports how long each step took.
+ * @author Vincent Macri
+ */
+public class SimulationBenchmark extends ApplicationAdapter {
+
+	/** The settings for a benchmark run. */
+	public static class Options {
+		/** How many steps to measure. */
+		public int ticks = 6000;
+		/** How many steps to run before measuring, so the JIT has warmed up. */
+		public int warmupTicks = 1000;
+		/** How many knights to spawn on top of the ones in the level. */
+		public int extraKnights = 0;
+		/** The step rate, in steps per second. */
+		public int stepRate = 60;
+		/** The level to load. */
+		public String levelFile = "assets/Environment/Level1/Level1.pgli";
+		/** The most bytes a step may allocate on average before the run fails, or -1 to not check. */
+		public long maxAllocation = -1;
+		/** If the time of each phase of the measured steps should be reported. */
+		public boolean profile = false;
+		/** If the world and the HUD should be drawn after each measured step, so their GL calls can be counted. */
+		public boolean draw = false;
+		/** If the player should be healed to full before every step, so it keeps fighting however many knights there are. */
+		public boolean invulnerable = false;
+	}
+
+	/** The settings for this run. */
+	private final Options options;
+
+	/** The simulation being measured. */
+	private GameSimulation simulation;
+
+	/** The width and height of the view that follows the player, in pixels. */
+	private static final float VIEW_WIDTH = 1024;
+
+	/** Plays the game. */
+	private final ScriptedInput input = new ScriptedInput();
+
+	/** The atlases that the sprites come from. */
+	private TextureAtlas playerAtlas, knightAtlas, cloudAtlas, uiAtlas;
+	/** The textures of the bars, which are packed into the game atlas. */
+	private Texture healthBar, manaBar;
+
+	/** If the run allocated more than {@link Options#maxAllocation}, the player died, or nothing was measured. */
+	private boolean failed;
+
+	/** How many steps have been run, counting the warmup. */
+	private int tick;
+	/** How many enemies there were to kill at the start, counting the ones that hadn't spawned yet. */
+	private int startingEnemies;
+
+	/** Times the phases of each measured step, if {@link Options#profile} is set. */
+	private final FrameProfiler profiler = new FrameProfiler();
+
+	/** Draws the world, if {@link Options#draw} is set. */
+	private final WorldRenderer worldRenderer = new WorldRenderer();
+	/** Counts the GL calls of each drawn frame. */
+	private final DrawStats drawStats = new DrawStats();
+	/** The batch the world is drawn with. Only created if {@link Options#draw} is set. */
+	private SpriteBatch batch;
+	/** The camera that follows the player when drawing. */
+	private OrthographicCamera camera;
+	/** Loads the level background's textures. */
+	private AssetManager assets;
+	/** The level background. */
+	private LevelBackground background;
+	/** The stage with the game's HUD. */
+	private Stage stage;
+
+	/**
+	 * Create a new benchmark.
+	 * @param options The settings for the run.
+	 */
+	public SimulationBenchmark(Options options) {
+		this.options = options;
+	}
+
+	@Override
+	public void create() {
+		HeadlessGL.install();
+
+		playerAtlas = new TextureAtlas(Gdx.files.internal("assets/PlayerSprites/Player.atlas"));
+		knightAtlas = new TextureAtlas(Gdx.files.internal("assets/Enemies/Knight/Knight.atlas"));
+		cloudAtlas = new TextureAtlas(Gdx.files.internal("assets/Environment/Clouds/Clouds.atlas"));
+		uiAtlas = new TextureAtlas(Gdx.files.internal("assets/UI/UI.atlas"));
+		healthBar = new Texture(Gdx.files.internal("assets/UI/Bars/HealthBar.png"));
+		manaBar = new Texture(Gdx.files.internal("assets/UI/Bars/ManaBar.png"));
+		Platformer.createPGSI(playerAtlas, knightAtlas);
+		Platformer.createGameAtlas(cloudAtlas, uiAtlas, healthBar, manaBar);
+
+		long loadStartTime = System.nanoTime();
+
+		simulation = new GameSimulation();
+		simulation.loadLevel(options.levelFile);
+		simulation.spawnClouds(Platformer.getGameAtlas());
+		simulation.spawnPlayer(new Vector2(120, 500));
+		followPlayer();
+
+		if (options.draw) {
+			batch = new SpriteBatch();
+			camera = new OrthographicCamera(VIEW_WIDTH, VIEW_WIDTH);
+			assets = new AssetManager();
+			background = new LevelBackground(assets, "assets/Environment/Level1/Level1_", Platformer.NUMBER_OF_BACKGROUND_TEXTURES);
+			stage = new Stage(new ScreenViewport(), batch);
+			stage.getViewport().update((int) VIEW_WIDTH, (int) VIEW_WIDTH, true); // There is no window to take the size from.
+			stage.addActor(new GameHud());
+
+			// The game streams the background textures in as the camera moves, but decoding images is loading, not per frame work, and it would swamp the allocation check.
+			background.setLoadedRange(0, StaticVars.LEVEL_WIDTH);
+			assets.finishLoading();
+		}
+
+		for (int i = 0; i < options.extraKnights; i++) { // Spread the extra knights evenly over the level.
+			StaticVars.enemyList.add(new Knight(new Vector2((StaticVars.LEVEL_WIDTH - 200f) * (i + 1) / (options.extraKnights + 1) + 100, 1024)));
+		}
+
+		startingEnemies = StaticVars.enemyList.size + StaticVars.currentLevel.getPendingSpawns();
+
+		System.out.println("Level loaded in " + (System.nanoTime() - loadStartTime) / 1000000f + " ms.");
+		System.out.println("Enemies at start: " + StaticVars.enemyList.size);
+		System.out.println("World: " + simulation.getWorld().getBodyCount() + " bodies, " + simulation.getWorld().getFixtureCount() + " fixtures, " + simulation.getWorld().getProxyCount() + " broadphase proxies");
+		System.out.println("Chunks: " + StaticVars.currentLevel.getLoadedChunkCount() + " of " + StaticVars.currentLevel.getChunkCount() + " loaded, " + StaticVars.currentLevel.getPendingSpawns() + " knights waiting to spawn");
+
+		float stepTime = 1f / options.stepRate;
+
+		for (int i = 0; i < options.warmupTicks && simulation.isRunning(); i++) {
+			step(stepTime);
+		}
+		if (!simulation.isRunning()) { // There is nothing left to measure.
+			reportEnd();
+			failed = true; // Nothing was measured.
+			Gdx.app.exit();
+			return;
+		}
+
+
+		simulation.setProfiler(profiler);
+		profiler.setEnabled(options.profile);
+		profiler.endFrame(); // Start the first frame.
+		if (options.draw) {
+			drawStats.enable();
+		}
+
+		long[] tickTimes = new long[options.ticks];
+		long allocatedBefore = getAllocatedBytes();
+		long runStartTime = System.nanoTime();
+
+		int measuredTicks = 0;
+		while (measuredTicks < options.ticks && simulation.isRunning()) {
+			long tickStartTime = System.nanoTime();
+			step(stepTime);
+			if (options.draw) {
+				draw(stepTime);
+			}
+			profiler.endFrame();
+			tickTimes[measuredTicks++] = System.nanoTime() - tickStartTime;
+		}
+
+		long runTime = System.nanoTime() - runStartTime;
+		long allocated = getAllocatedBytes() - allocatedBefore;
+
+		report(Arrays.copyOf(tickTimes, measuredTicks), runTime, allocated);
+		if (!simulation.isRunning()) {
+			reportEnd();
+		}
+		Gdx.app.exit();
+	}
+
+	/**
+	 * Play one step of the game.
+	 * @param stepTime How much time the step covers, in seconds.
+	 */
+	private void step(float stepTime) {
+		if (options.invulnerable) {
+			StaticVars.player.healDamage(Float.MAX_VALUE); // Healing is capped at the player's maximum health.
+		}
+		input.apply(StaticVars.player);
+		followPlayer();
+		simulation.step(stepTime);
+		tick++;
+	}
+
+	/** Report that the game ended before all of the steps were run. If the player died the run fails, since the game stopped being played. */
+	private void reportEnd() {
+		int ticks = options.warmupTicks + options.ticks;
+		if (StaticVars.player.isActive() && options.maxAllocation >= 0) { // The check is only meaningful if every step it asked for was run.
+			System.out.println("FAILED: the game was won at tick " + tick + " of " + ticks + ", before the allocation check was done.");
+			failed = true;
+		} else if (StaticVars.player.isActive()) {
+			System.out.println("The game was won at tick " + tick + " of " + ticks + ", so the run stopped early.");
+		} else {
+			System.out.println("FAILED: the player died at tick " + tick + " of " + ticks + ", after killing " + getEnemiesKilled() + " enemies.");
+			failed = true;
+		}
+	}
+
+	/**
+	 * Count the enemies killed so far.
+	 * @return How many fewer enemies there are than at the start, counting the ones that haven't spawned yet.
+	 */
+	private int getEnemiesKilled() {
+		return startingEnemies - StaticVars.enemyList.size - StaticVars.currentLevel.getPendingSpawns();
+	}
+
+	/**
+	 * Count the bytes allocated by every thread, so the enemy AI's worker threads are included.
+	 * Threads that finish during the run aren't counted, but the workers run for as long as the game does.
+	 * @return How many bytes the live threads have allocated since they started.
+	 */
+	private static long getAllocatedBytes() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long[] allocated = threads.getThreadAllocatedBytes(threads.getAllThreadIds());
+		long total = 0;
+		for (int i = 0; i < allocated.length; i++) {
+			if (allocated[i] > 0) { // Threads that have finished since their ids were found report -1.
+				total += allocated[i];
+			}
+		}
+		return total;
+	}
+
+	/** Point the view at the player, like the game's camera. */
+	private void followPlayer() {
+		float playerX = StaticVars.player.getPosition().x * StaticVars.PIXELS_PER_METER;
+		simulation.setView(playerX - VIEW_WIDTH / 2, playerX + VIEW_WIDTH / 2);
+	}
+
+	/**
+	 * Draw the world around the player and the HUD, like the game does after a step, and count the GL calls.
+	 * @param stepTime How much time the step covered, in seconds.
+	 */
+	private void draw(float stepTime) {
+		simulation.interpolatePositions(1);
+
+		float playerX = StaticVars.player.getPosition().x * StaticVars.PIXELS_PER_METER; // The positions were just interpolated to the end of the step.
+		camera.position.set(Math.round(playerX), VIEW_WIDTH / 2, 0);
+		camera.update();
+
+		long phaseStart = profiler.start();
+		drawStats.begin();
+		worldRenderer.draw(batch, camera, background);
+		drawStats.end(FrameProfiler.Phase.WORLD_BATCH, worldRenderer.getRenderCalls());
+		profiler.stop(FrameProfiler.Phase.WORLD_BATCH, phaseStart);
+
+		phaseStart = profiler.start();
+		drawStats.begin();
+		stage.act(stepTime);
+		stage.draw();
+		drawStats.end(FrameProfiler.Phase.STAGE, batch); // The stage draws with the same batch.
+		drawStats.endFrame();
+		profiler.stop(FrameProfiler.Phase.STAGE, phaseStart);
+	}
+
+	/**
+	 * Print the results of the run.
+	 * @param tickTimes How long each measured step took, in nanoseconds.
+	 * @param runTime How long all of the measured steps took, in nanoseconds.
+	 * @param allocated How many bytes were allocated while running the measured steps.
+	 */
+	private void report(long[] tickTimes, long runTime, long allocated) {
+		Arrays.sort(tickTimes);
+		double seconds = runTime / 1e9;
+
+		System.out.println("Enemies at end: " + StaticVars.enemyList.size + ", " + getEnemiesKilled() + " killed");
+		System.out.println("Ticks: " + tickTimes.length + " at " + options.stepRate + " Hz, after " + options.warmupTicks + " warmup ticks");
+		System.out.println("Ticks per second: " + Math.round(tickTimes.length / seconds));
+		System.out.println("Tick time p50: " + percentile(tickTimes, 0.5) / 1000f + " us");
+		System.out.println("Tick time p99: " + percentile(tickTimes, 0.99) / 1000f + " us");
+		System.out.println("Tick time max: " + tickTimes[tickTimes.length - 1] / 1000f + " us");
+		System.out.println("Allocated: " + allocated / tickTimes.length + " bytes/tick, " + Math.round(allocated / seconds / 1024) + " KB/s");
+		if (options.maxAllocation >= 0 && allocated / tickTimes.length > options.maxAllocation) {
+			System.out.println("FAILED: more than " + options.maxAllocation + " bytes/tick were allocated.");
+			failed = true;
+		}
+		System.out.println("Chunks: " + StaticVars.currentLevel.getLoadedChunkCount() + " of " + StaticVars.currentLevel.getChunkCount() + " loaded, " + StaticVars.currentLevel.getPendingSpawns() + " knights waiting to spawn");
+		System.out.println("Fireball pool: " + StaticVars.fireballPool.getHits() + " hits, " + StaticVars.fireballPool.getMisses() + " misses, peak " + StaticVars.fireballPool.getPeakInUse() + " in use, "
+				+ simulation.getCulledBullets() + " culled");
+
+		if (options.profile) {
+			StringBuilder phases = new StringBuilder("Phases of the last " + Math.min(profiler.getFrameCount(), FrameProfiler.HISTORY) + " ticks:");
+			profiler.appendSummary(phases);
+			profiler.appendHistograms(phases);
+			System.out.println(phases);
+		}
+
+		if (options.draw) {
+			StringBuilder draws = new StringBuilder("Average GL work per frame (the GL does nothing, so only the counts matter):");
+			drawStats.appendSummary(draws, true);
+			System.out.println(draws);
+		}
+	}
+
+	/**
+	 * Get a percentile from sorted values.
+	 * @param sorted The values, sorted from smallest to largest.
+	 * @param fraction The percentile to get, in the range [0, 1].
+	 * @return The value at that percentile.
+	 */
+	private static long percentile(long[] sorted, double fraction) {
+		return sorted[(int) Math.round(fraction * (sorted.length - 1))];
+	}
+
+	@Override
+	public void dispose() {
+		simulation.dispose();
+		playerAtlas.dispose();
+		knightAtlas.dispose();
+		cloudAtlas.dispose();
+		uiAtlas.dispose();
+		healthBar.dispose();
+		manaBar.dispose();
+		if (options.draw) {
+			drawStats.disable();
+			batch.dispose();
+			background.dispose();
+			assets.dispose();
+			stage.dispose();
+		}
+
+		if (failed) { // Let scripts see that the check failed.
+			System.exit(1);
+		}
+	}
+
+}